@@ -10,6 +10,7 @@ import seedu.addressbook.commands.ExitCommand;
 import seedu.addressbook.data.AddressBook;
 import seedu.addressbook.data.person.ReadOnlyPerson;
 import seedu.addressbook.parser.Parser;
+import seedu.addressbook.storage.BackgroundSaver;
 import seedu.addressbook.storage.StorageFile;
 import seedu.addressbook.storage.StorageFile.InvalidStorageFilePathException;
 import seedu.addressbook.storage.StorageFile.StorageOperationException;
@@ -27,8 +28,12 @@ public class Main {
 
     private TextUi ui;
     private StorageFile storage;
+    private BackgroundSaver saver;
     private AddressBook addressBook;
 
+    /** The {@link AddressBook#getModificationCount()} of {@link #addressBook} when it was last saved. */
+    private long savedModificationCount;
+
     /** The list of person shown to the user most recently.  */
     private List<? extends ReadOnlyPerson> lastShownList = Collections.emptyList();
 
@@ -55,6 +60,8 @@ public class Main {
             this.ui = new TextUi();
             this.storage = initializeStorage(launchArgs);
             this.addressBook = storage.load();
+            this.savedModificationCount = addressBook.getModificationCount();
+            this.saver = new BackgroundSaver(storage);
             ui.showWelcomeMessage(VERSION, storage.getPath());
 
         } catch (InvalidStorageFilePathException | StorageOperationException e) {
@@ -72,8 +79,13 @@ public class Main {
         }
     }
 
-    /** Prints the Goodbye message and exits. */
+    /** Waits for pending saves to complete, prints the Goodbye message and exits. */
     private void exit() {
+        try {
+            saver.stop();
+        } catch (StorageOperationException soe) {
+            ui.showToUser(soe.getMessage());
+        }
         ui.showGoodbyeMessage();
         System.exit(0);
     }
@@ -109,7 +121,10 @@ public class Main {
         try {
             command.setData(addressBook, lastShownList);
             CommandResult result = command.execute();
-            storage.save(addressBook);
+            if (command.isMutating() && addressBook.getModificationCount() != savedModificationCount) {
+                savedModificationCount = addressBook.getModificationCount();
+                submitSave();
+            }
             return result;
         } catch (Exception e) {
             ui.showToUser(e.getMessage());
@@ -118,14 +133,36 @@ public class Main {
     }
 
     /**
-     * Creates the StorageFile object based on the user specified path (if any) or the default storage path.
+     * Schedules the address book to be saved. If an earlier save failed, the failure is shown to the user,
+     * and the save rewrites the whole storage file so that no change is lost.
+     */
+    private void submitSave() {
+        try {
+            saver.submit(addressBook);
+        } catch (StorageOperationException soe) {
+            ui.showToUser(soe.getMessage());
+        }
+    }
+
+    /**
+     * Creates the StorageFile object based on the user specified path (if any) or the default storage path,
+     * split across the user specified number of shards (if any).
      * @param launchArgs arguments supplied by the user at program launch
-     * @throws InvalidStorageFilePathException if the target file path is incorrect.
+     * @throws InvalidStorageFilePathException if the target file path or number of shards is incorrect.
      */
     private StorageFile initializeStorage(String[] launchArgs) throws InvalidStorageFilePathException {
         boolean isStorageFileSpecifiedByUser = launchArgs.length > 0;
-        return isStorageFileSpecifiedByUser ? new StorageFile(launchArgs[0]) : new StorageFile();
+        boolean isShardCountSpecifiedByUser = launchArgs.length > 1;
+        return new StorageFile(isStorageFileSpecifiedByUser ? launchArgs[0] : StorageFile.DEFAULT_STORAGE_FILEPATH,
+                true, isShardCountSpecifiedByUser ? parseShardCount(launchArgs[1]) : 1);
     }
 
+    private static int parseShardCount(String shardCount) throws InvalidStorageFilePathException {
+        try {
+            return Integer.parseInt(shardCount);
+        } catch (NumberFormatException nfe) {
+            throw new InvalidStorageFilePathException("Number of storage shards must be a positive integer");
+        }
+    }
 
 }
@@ -1,6 +1,9 @@
 package seedu.addressbook.commands;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import seedu.addressbook.data.exception.IllegalValueException;
@@ -14,22 +17,31 @@ import seedu.addressbook.data.person.UniquePersonList;
 import seedu.addressbook.data.tag.Tag;
 
 /**
- * Adds a person to the address book.
+ * Adds a person, or several persons at once, to the address book.
  */
 public class AddCommand extends Command {
 
     public static final String COMMAND_WORD = "add";
 
+    /** Separates the persons added by one command. Cannot appear in any field, as '/' is reserved for prefixes. */
+    public static final String PERSON_SEPARATOR = "//";
+
     public static final String MESSAGE_USAGE = COMMAND_WORD + ": Adds a person to the address book. "
-            + "Contact details can be marked private by prepending 'p' to the prefix.\n"
-            + "Parameters: NAME [p]p/PHONE [p]e/EMAIL [p]a/ADDRESS  [t/TAG]...\n"
+            + "Contact details can be marked private by prepending 'p' to the prefix. "
+            + "Several persons can be added at once by separating them with '" + PERSON_SEPARATOR
+            + "', in which case either all or none of them are added.\n"
+            + "Parameters: NAME [p]p/PHONE [p]e/EMAIL [p]a/ADDRESS  [t/TAG]... "
+            + "[" + PERSON_SEPARATOR + " MORE_PERSONS]...\n"
             + "Example: " + COMMAND_WORD
             + " John Doe p/98765432 e/johnd@gmail.com a/311, Clementi Ave 2, #02-25 t/friends t/owesMoney";
 
     public static final String MESSAGE_SUCCESS = "New person added: %1$s";
+    public static final String MESSAGE_SUCCESS_MULTIPLE = "%1$d new persons added";
     public static final String MESSAGE_DUPLICATE_PERSON = "This person already exists in the address book";
+    public static final String MESSAGE_DUPLICATE_PERSONS =
+            "A person already exists in the address book, or is given more than once. No persons were added";
 
-    private final Person toAdd;
+    private final List<Person> toAdd;
 
     /**
      * Convenience constructor using raw values.
@@ -41,11 +53,35 @@ public class AddCommand extends Command {
                       String email, boolean isEmailPrivate,
                       String address, boolean isAddressPrivate,
                       Set<String> tags) throws IllegalValueException {
+        this(toPerson(name, phone, isPhonePrivate, email, isEmailPrivate, address, isAddressPrivate, tags));
+    }
+
+    public AddCommand(Person toAdd) {
+        this.toAdd = Collections.singletonList(toAdd);
+    }
+
+    /**
+     * Creates a command adding all of {@code toAdd}, in order, or none of them if any is a duplicate.
+     */
+    public AddCommand(List<Person> toAdd) {
+        this.toAdd = Collections.unmodifiableList(new ArrayList<>(toAdd));
+    }
+
+    /**
+     * Returns the person with the given raw values.
+     *
+     * @throws IllegalValueException if any of the raw values are invalid
+     */
+    public static Person toPerson(String name,
+                                  String phone, boolean isPhonePrivate,
+                                  String email, boolean isEmailPrivate,
+                                  String address, boolean isAddressPrivate,
+                                  Set<String> tags) throws IllegalValueException {
         final Set<Tag> tagSet = new HashSet<>();
         for (String tagName : tags) {
-            tagSet.add(new Tag(tagName));
+            tagSet.add(Tag.of(tagName));
         }
-        this.toAdd = new Person(
+        return new Person(
                 new Name(name),
                 new Phone(phone, isPhonePrivate),
                 new Email(email, isEmailPrivate),
@@ -54,21 +90,43 @@ public class AddCommand extends Command {
         );
     }
 
-    public AddCommand(Person toAdd) {
-        this.toAdd = toAdd;
+    /**
+     * Returns the first person to add.
+     */
+    public ReadOnlyPerson getPerson() {
+        return toAdd.get(0);
     }
 
-    public ReadOnlyPerson getPerson() {
+    public List<Person> getPersons() {
         return toAdd;
     }
 
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
+
     @Override
     public CommandResult execute() {
+        if (toAdd.size() > 1) {
+            return executeForAll();
+        }
+        try {
+            addressBook.addPerson(toAdd.get(0));
+            return new CommandResult(String.format(MESSAGE_SUCCESS, toAdd.get(0)),
+                    addressBook.getCurrentVersion().getNumber());
+        } catch (UniquePersonList.DuplicatePersonException dpe) {
+            return new CommandResult(MESSAGE_DUPLICATE_PERSON, addressBook.getCurrentVersion().getNumber());
+        }
+    }
+
+    private CommandResult executeForAll() {
         try {
-            addressBook.addPerson(toAdd);
-            return new CommandResult(String.format(MESSAGE_SUCCESS, toAdd));
+            addressBook.addAll(toAdd);
+            return new CommandResult(String.format(MESSAGE_SUCCESS_MULTIPLE, toAdd.size()),
+                    addressBook.getCurrentVersion().getNumber());
         } catch (UniquePersonList.DuplicatePersonException dpe) {
-            return new CommandResult(MESSAGE_DUPLICATE_PERSON);
+            return new CommandResult(MESSAGE_DUPLICATE_PERSONS, addressBook.getCurrentVersion().getNumber());
         }
     }
 
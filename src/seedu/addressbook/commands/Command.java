@@ -43,6 +43,14 @@ public class Command {
         throw new UnsupportedOperationException("This method is to be implemented by child classes");
     };
 
+    /**
+     * Returns true if executing this command may change the data in the address book.
+     * Commands that only read the address book should leave this as false, so that no save is attempted for them.
+     */
+    public boolean isMutating() {
+        return false;
+    }
+
     /**
      * Supplies the data the command will operate on.
      */
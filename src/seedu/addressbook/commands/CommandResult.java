@@ -4,6 +4,7 @@ import seedu.addressbook.data.person.ReadOnlyPerson;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 
 /**
  * Represents the result of a command execution.
@@ -16,14 +17,26 @@ public class CommandResult {
     /** The list of persons that was produced by the command */
     private final List<? extends ReadOnlyPerson> relevantPersons;
 
+    /** The number of the address book version the command was computed against, or -1 if none */
+    private final long addressBookVersion;
+
     public CommandResult(String feedbackToUser) {
-        this.feedbackToUser = feedbackToUser;
-        relevantPersons = null;
+        this(feedbackToUser, null, -1);
     }
 
     public CommandResult(String feedbackToUser, List<? extends ReadOnlyPerson> relevantPersons) {
+        this(feedbackToUser, relevantPersons, -1);
+    }
+
+    public CommandResult(String feedbackToUser, long addressBookVersion) {
+        this(feedbackToUser, null, addressBookVersion);
+    }
+
+    public CommandResult(String feedbackToUser, List<? extends ReadOnlyPerson> relevantPersons,
+                         long addressBookVersion) {
         this.feedbackToUser = feedbackToUser;
         this.relevantPersons = relevantPersons;
+        this.addressBookVersion = addressBookVersion;
     }
 
     /**
@@ -33,4 +46,12 @@ public class CommandResult {
         return Optional.ofNullable(relevantPersons);
     }
 
+    /**
+     * Returns the number of the {@link seedu.addressbook.data.AddressBook.Version} of the address book that
+     * the command read or produced, if any.
+     */
+    public OptionalLong getAddressBookVersion() {
+        return addressBookVersion < 0 ? OptionalLong.empty() : OptionalLong.of(addressBookVersion);
+    }
+
 }
@@ -1,11 +1,10 @@
 package seedu.addressbook.commands;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import seedu.addressbook.data.AddressBook;
 import seedu.addressbook.data.person.ReadOnlyPerson;
 
 /**
@@ -36,25 +35,23 @@ public class FindCommand extends Command {
 
     @Override
     public CommandResult execute() {
-        final List<ReadOnlyPerson> personsFound = getPersonsWithNameContainingAnyKeyword(keywords);
-        return new CommandResult(getMessageForPersonListShownSummary(personsFound), personsFound);
+        final AddressBook.Version version = addressBook.getCurrentVersion();
+        final List<ReadOnlyPerson> personsFound = getPersonsWithNameContainingAnyKeyword(version, keywords);
+        return new CommandResult(getMessageForPersonListShownSummary(personsFound), personsFound,
+                version.getNumber());
     }
 
     /**
-     * Retrieves all persons in the address book whose names contain some of the specified keywords.
+     * Retrieves all persons in the given version of the address book whose names contain some of the specified
+     * keywords.
      *
+     * @param version of the address book to search
      * @param keywords for searching
      * @return list of persons found
      */
-    private List<ReadOnlyPerson> getPersonsWithNameContainingAnyKeyword(Set<String> keywords) {
-        final List<ReadOnlyPerson> matchedPersons = new ArrayList<>();
-        for (ReadOnlyPerson person : addressBook.getAllPersons()) {
-            final Set<String> wordsInName = new HashSet<>(person.getName().getWordsInName());
-            if (!Collections.disjoint(wordsInName, keywords)) {
-                matchedPersons.add(person);
-            }
-        }
-        return matchedPersons;
+    private List<ReadOnlyPerson> getPersonsWithNameContainingAnyKeyword(AddressBook.Version version,
+                                                                        Set<String> keywords) {
+        return version.getPersonStore().findByNameWords(keywords);
     }
 
 }
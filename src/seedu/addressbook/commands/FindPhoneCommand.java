@@ -0,0 +1,46 @@
+package seedu.addressbook.commands;
+
+import java.util.List;
+
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.exception.IllegalValueException;
+import seedu.addressbook.data.person.Phone;
+import seedu.addressbook.data.person.ReadOnlyPerson;
+
+/**
+ * Finds and lists all persons in address book with the given phone number.
+ * The phone number must match exactly, including any leading zeros.
+ */
+public class FindPhoneCommand extends Command {
+
+    public static final String COMMAND_WORD = "findphone";
+
+    public static final String MESSAGE_USAGE = COMMAND_WORD + ": Finds all persons with exactly the specified "
+            + "phone number and displays them as a list with index numbers.\n"
+            + "Parameters: PHONE\n"
+            + "Example: " + COMMAND_WORD + " 98765432";
+
+    private final Phone phone;
+
+    /**
+     * Convenience constructor using raw values.
+     *
+     * @throws IllegalValueException if the phone number is invalid
+     */
+    public FindPhoneCommand(String phone) throws IllegalValueException {
+        this.phone = new Phone(phone, false);
+    }
+
+    public Phone getPhone() {
+        return phone;
+    }
+
+    @Override
+    public CommandResult execute() {
+        final AddressBook.Version version = addressBook.getCurrentVersion();
+        final List<ReadOnlyPerson> personsFound = version.findByPhone(phone);
+        return new CommandResult(getMessageForPersonListShownSummary(personsFound), personsFound,
+                version.getNumber());
+    }
+
+}
@@ -0,0 +1,64 @@
+package seedu.addressbook.commands;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.exception.IllegalValueException;
+import seedu.addressbook.data.person.ReadOnlyPerson;
+import seedu.addressbook.data.tag.Tag;
+
+/**
+ * Finds and lists all persons in address book with any, or all, of the argument tags.
+ * Tag matching is case sensitive.
+ */
+public class FindTagCommand extends Command {
+
+    public static final String COMMAND_WORD = "findtag";
+
+    public static final String MESSAGE_USAGE = COMMAND_WORD + ": Finds all persons with any of the specified "
+            + "tags (case-sensitive), or with all of them if all/ is given, "
+            + "and displays them as a list with index numbers.\n"
+            + "Parameters: [all/] TAG [MORE_TAGS]...\n"
+            + "Example: " + COMMAND_WORD + " all/ friends colleagues";
+
+    private final Set<Tag> tags;
+    private final boolean isAllTagsRequired;
+
+    /**
+     * Convenience constructor using raw values.
+     *
+     * @param isAllTagsRequired if true, only persons with all of the tags are found.
+     * @throws IllegalValueException if any tag name is invalid
+     */
+    public FindTagCommand(Set<String> tagNames, boolean isAllTagsRequired) throws IllegalValueException {
+        this.tags = new HashSet<>();
+        for (String tagName : tagNames) {
+            tags.add(Tag.of(tagName));
+        }
+        this.isAllTagsRequired = isAllTagsRequired;
+    }
+
+    /**
+     * Returns a copy of the tags in this command.
+     */
+    public Set<Tag> getTags() {
+        return new HashSet<>(tags);
+    }
+
+    public boolean isAllTagsRequired() {
+        return isAllTagsRequired;
+    }
+
+    @Override
+    public CommandResult execute() {
+        final AddressBook.Version version = addressBook.getCurrentVersion();
+        final List<ReadOnlyPerson> personsFound = isAllTagsRequired
+                ? version.findWithAllTags(tags)
+                : version.findWithAnyTag(tags);
+        return new CommandResult(getMessageForPersonListShownSummary(personsFound), personsFound,
+                version.getNumber());
+    }
+
+}
@@ -1,25 +1,100 @@
 package seedu.addressbook.commands;
 
+import seedu.addressbook.data.AddressBook;
 import seedu.addressbook.data.person.ReadOnlyPerson;
 
 import java.util.List;
 
 
 /**
- * Lists all persons in the address book to the user.
+ * Lists all persons in the address book to the user, or one page of them.
+ * Persons are listed in the order they were added, or in name order.
  */
 public class ListCommand extends Command {
 
     public static final String COMMAND_WORD = "list";
 
     public static final String MESSAGE_USAGE = COMMAND_WORD
-            + ": Displays all persons in the address book as a list with index numbers.\n"
-            + "Example: " + COMMAND_WORD;
+            + ": Displays all persons in the address book as a list with index numbers, "
+            + "sorted by name if sort/name is given, and only one page of them if page/ or size/ is given.\n"
+            + "Parameters: [sort/name] [page/PAGE_NUMBER] [size/PAGE_SIZE]\n"
+            + "Example: " + COMMAND_WORD + " sort/name page/2 size/10";
 
+    public static final String MESSAGE_PAGE_LISTED = "Page %1$d of %2$d: %3$d persons listed!";
+
+    /** Number of persons on a page if only the page number is given. */
+    public static final int DEFAULT_PAGE_SIZE = 10;
+
+    private final boolean isSortedByName;
+    private final int pageNumber;
+    private final int pageSize;
+    private final boolean isPaged;
+
+    /**
+     * Creates a command listing all persons in the order they were added.
+     */
+    public ListCommand() {
+        this.isSortedByName = false;
+        this.pageNumber = 1;
+        this.pageSize = Integer.MAX_VALUE;
+        this.isPaged = false;
+    }
+
+    /**
+     * Creates a command listing one page of the persons.
+     *
+     * @param pageNumber the page to list, counting from 1
+     * @param pageSize number of persons on each page, at least 1
+     */
+    public ListCommand(boolean isSortedByName, int pageNumber, int pageSize) {
+        this.isSortedByName = isSortedByName;
+        this.pageNumber = pageNumber;
+        this.pageSize = pageSize;
+        this.isPaged = true;
+    }
+
+    /**
+     * Creates a command listing all persons, in name order if {@code isSortedByName}.
+     */
+    public ListCommand(boolean isSortedByName) {
+        this.isSortedByName = isSortedByName;
+        this.pageNumber = 1;
+        this.pageSize = Integer.MAX_VALUE;
+        this.isPaged = false;
+    }
+
+    public boolean isSortedByName() {
+        return isSortedByName;
+    }
+
+    public int getPageNumber() {
+        return pageNumber;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
 
     @Override
     public CommandResult execute() {
-        List<ReadOnlyPerson> allPersons = addressBook.getAllPersons().immutableListView();
-        return new CommandResult(getMessageForPersonListShownSummary(allPersons), allPersons);
+        final AddressBook.Version version = addressBook.getCurrentVersion();
+        final int personCount = version.size();
+        final int from = (int) Math.min((long) (pageNumber - 1) * pageSize, personCount);
+
+        final List<ReadOnlyPerson> personsShown;
+        if (isSortedByName) {
+            personsShown = version.getPersonsSortedByName(from, pageSize);
+        } else {
+            final List<ReadOnlyPerson> allPersons = version.getAllPersons().immutableListView();
+            personsShown = allPersons.subList(from, (int) Math.min((long) from + pageSize, personCount));
+        }
+
+        if (!isPaged) {
+            return new CommandResult(getMessageForPersonListShownSummary(personsShown), personsShown,
+                    version.getNumber());
+        }
+        final int pageCount = Math.max(1, (int) ((personCount + (long) pageSize - 1) / pageSize));
+        return new CommandResult(String.format(MESSAGE_PAGE_LISTED, pageNumber, pageCount, personsShown.size()),
+                personsShown, version.getNumber());
     }
 }
@@ -0,0 +1,113 @@
+package seedu.addressbook.common;
+
+/**
+ * Validators for the text fields of the address book, each equivalent to matching a validation regex.
+ * They check one character at a time, without compiling a pattern or allocating a matcher,
+ * as they run for every field of every person loaded or added.
+ * As in {@link java.util.regex.Pattern}, the character classes only include US-ASCII characters.
+ */
+public class FieldValidators {
+
+    private static final char LINE_SEPARATOR = 0x2028;
+    private static final char PARAGRAPH_SEPARATOR = 0x2029;
+
+    private FieldValidators() {}
+
+    /**
+     * Returns true if {@code test} matches {@code [\p{Alpha} ]+}:
+     * one or more characters, each a letter or a space.
+     */
+    public static boolean isLettersOrSpaces(String test) {
+        final int length = test.length();
+        for (int i = 0; i < length; i++) {
+            final char c = test.charAt(i);
+            if (!isLetter(c) && c != ' ') {
+                return false;
+            }
+        }
+        return length > 0;
+    }
+
+    /**
+     * Returns true if {@code test} matches {@code \d+}: one or more digits.
+     */
+    public static boolean isDigits(String test) {
+        final int length = test.length();
+        for (int i = 0; i < length; i++) {
+            if (!isDigit(test.charAt(i))) {
+                return false;
+            }
+        }
+        return length > 0;
+    }
+
+    /**
+     * Returns true if {@code test} matches {@code \p{Alnum}+}: one or more characters, each a letter or a digit.
+     */
+    public static boolean isLettersOrDigits(String test) {
+        final int length = test.length();
+        for (int i = 0; i < length; i++) {
+            final char c = test.charAt(i);
+            if (!isLetter(c) && !isDigit(c)) {
+                return false;
+            }
+        }
+        return length > 0;
+    }
+
+    /**
+     * Returns true if {@code test} matches {@code [\w\.]+@[\w\.]+}: a single {@code @}, with one or more characters
+     * before and after it that are each a letter, a digit, {@code _} or {@code .}.
+     */
+    public static boolean isWordsAtWords(String test) {
+        final int length = test.length();
+        int atPosition = -1;
+        for (int i = 0; i < length; i++) {
+            final char c = test.charAt(i);
+            if (c == '@') {
+                if (atPosition >= 0) {
+                    return false;
+                }
+                atPosition = i;
+            } else if (!isWordCharacter(c) && c != '.') {
+                return false;
+            }
+        }
+        return atPosition > 0 && atPosition < length - 1;
+    }
+
+    /**
+     * Returns true if {@code test} matches {@code .+}: one or more characters, none of which ends a line.
+     */
+    public static boolean isSingleLine(String test) {
+        final int length = test.length();
+        for (int i = 0; i < length; i++) {
+            if (isLineTerminator(test.charAt(i))) {
+                return false;
+            }
+        }
+        return length > 0;
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Returns true if {@code c} is in {@code \w}.
+     */
+    private static boolean isWordCharacter(char c) {
+        return isLetter(c) || isDigit(c) || c == '_';
+    }
+
+    /**
+     * Returns true if {@code c} is not matched by {@code .}.
+     */
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == LINE_SEPARATOR || c == PARAGRAPH_SEPARATOR;
+    }
+}
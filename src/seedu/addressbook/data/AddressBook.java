@@ -1,32 +1,170 @@
 package seedu.addressbook.data;
 
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
 import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.person.PersonStore;
+import seedu.addressbook.data.person.Phone;
 import seedu.addressbook.data.person.ReadOnlyPerson;
 import seedu.addressbook.data.person.UniquePersonList;
 import seedu.addressbook.data.person.UniquePersonList.DuplicatePersonException;
 import seedu.addressbook.data.person.UniquePersonList.PersonNotFoundException;
+import seedu.addressbook.data.tag.Tag;
 
 /**
  * Represents the entire address book. Contains the data of the address book.
+ *
+ * Every change is made to a copy of the persons, which is then published as an immutable {@link Version} of the
+ * address book. Other threads can read a version without any locking while the address book is changed.
+ * Only one thread may change the address book at a time.
  */
 public class AddressBook {
 
-    private final UniquePersonList allPersons;
+    /**
+     * An immutable version of the persons in an address book, as they were after a numbered change.
+     * A version shares its storage and indexes with the versions before and after it, so publishing one takes time
+     * proportional to the number of chunks of persons rather than the number of persons.
+     * All methods can be called from any thread.
+     */
+    public static final class Version {
+        private final long number;
+
+        /** The persons of this version. Never modified, and only ever copied. */
+        private final UniquePersonList persons;
+
+        /**
+         * The store last built for any version of the address book, shared by all its versions.
+         * The store of this version reuses its blocks.
+         */
+        private final AtomicReference<PersonStore> latestPersonStore;
+
+        /** {@link #persons} in column form, or null if not built yet. */
+        private volatile PersonStore personStore;
+
+        /**
+         * @param persons must not be modified afterwards.
+         */
+        private Version(long number, UniquePersonList persons, AtomicReference<PersonStore> latestPersonStore) {
+            this.number = number;
+            this.persons = persons;
+            this.latestPersonStore = latestPersonStore;
+        }
+
+        /**
+         * Returns the number of changes made to the address book before this version.
+         */
+        public long getNumber() {
+            return number;
+        }
+
+        /**
+         * Returns a new UniquePersonList of all persons in this version, in constant time.
+         */
+        public UniquePersonList getAllPersons() {
+            return new UniquePersonList(persons);
+        }
+
+        public int size() {
+            return persons.size();
+        }
+
+        /**
+         * Returns true if an equivalent person exists in this version.
+         */
+        public boolean containsPerson(ReadOnlyPerson key) {
+            return persons.contains(key);
+        }
+
+        /**
+         * Returns the persons in this version with the given phone number, in order.
+         *
+         * @see AddressBook#findPersonsByPhone(Phone)
+         */
+        public List<ReadOnlyPerson> findByPhone(Phone phone) {
+            return persons.findByPhone(phone);
+        }
+
+        /**
+         * Returns the persons in this version that have all of the given tags, in order.
+         *
+         * @see AddressBook#findPersonsWithAllTags(Collection)
+         */
+        public List<ReadOnlyPerson> findWithAllTags(Collection<Tag> tags) {
+            return persons.findWithAllTags(tags);
+        }
+
+        /**
+         * Returns the persons in this version that have any of the given tags, in order.
+         *
+         * @see AddressBook#findPersonsWithAnyTag(Collection)
+         */
+        public List<ReadOnlyPerson> findWithAnyTag(Collection<Tag> tags) {
+            return persons.findWithAnyTag(tags);
+        }
+
+        /**
+         * Returns up to {@code count} persons in this version in name order, starting from position {@code from}.
+         *
+         * @see AddressBook#getPersonsSortedByName(int, int)
+         */
+        public List<ReadOnlyPerson> getPersonsSortedByName(int from, int count) {
+            return persons.getSortedByName(from, count);
+        }
+
+        /**
+         * Returns the persons in this version, in order, as a column-oriented store for scanning.
+         * The store is built on the first call, and shared by later calls. It reuses the parts of the store last
+         * built for any version of the address book that hold persons unchanged since then.
+         * Callers must not add to the store.
+         */
+        public PersonStore getPersonStore() {
+            PersonStore store = personStore;
+            if (store == null) {
+                store = persons.toPersonStore(latestPersonStore.get());
+                personStore = store;
+                latestPersonStore.set(store);
+            }
+            return store;
+        }
+    }
+
+    /**
+     * Receives a notification for every change made to the persons in an address book, once the change has been
+     * published. A change to the tags of a person is notified as the removal of the person followed by the addition
+     * of the updated person.
+     */
+    public interface ChangeListener {
+        void personAdded(Person added);
+        void personRemoved(ReadOnlyPerson removed);
+        void cleared();
+    }
+
+    private ChangeListener changeListener;
+
+    /** The version published after the latest change. */
+    private final AtomicReference<Version> currentVersion = new AtomicReference<>();
+
+    /** Shared by all versions of this address book. */
+    private final AtomicReference<PersonStore> latestPersonStore = new AtomicReference<>();
 
     /**
      * Creates an empty address book.
      */
     public AddressBook() {
-        allPersons = new UniquePersonList();
+        this(new UniquePersonList());
     }
 
     /**
-     * Constructs an address book with the given data.
+     * Constructs an address book with the given data, in constant time.
      *
      * @param persons external changes to this will not affect this address book
      */
     public AddressBook(UniquePersonList persons) {
-        this.allPersons = new UniquePersonList(persons);
+        currentVersion.set(new Version(0, new UniquePersonList(persons), latestPersonStore));
     }
 
     /**
@@ -35,14 +173,92 @@ public class AddressBook {
      * @throws DuplicatePersonException if an equivalent person already exists.
      */
     public void addPerson(Person toAdd) throws DuplicatePersonException {
-        allPersons.add(toAdd);
+        final Version base = currentVersion.get();
+        final UniquePersonList updated = base.getAllPersons();
+        updated.add(toAdd);
+        publish(base, updated);
+        if (changeListener != null) {
+            changeListener.personAdded(toAdd);
+        }
+    }
+
+    /**
+     * Adds all of {@code toAdd} to the address book, in order, as a single change, or adds none of them.
+     * The persons are checked for duplicates in a single pass, which does not scan the address book.
+     *
+     * @throws DuplicatePersonException if any person is equivalent to a person in the address book,
+     *     or to another person in {@code toAdd}.
+     */
+    public void addAll(Collection<Person> toAdd) throws DuplicatePersonException {
+        final Version base = currentVersion.get();
+        final UniquePersonList updated = base.getAllPersons();
+        updated.addAll(toAdd);
+        publish(base, updated);
+        if (changeListener != null) {
+            for (Person added : toAdd) {
+                changeListener.personAdded(added);
+            }
+        }
     }
 
     /**
      * Returns true if an equivalent person exists in the address book.
      */
     public boolean containsPerson(ReadOnlyPerson key) {
-        return allPersons.contains(key);
+        return getCurrentVersion().containsPerson(key);
+    }
+
+    /**
+     * Returns the persons in the address book with the given phone number, in order.
+     * The persons are looked up by phone number, without scanning the address book.
+     */
+    public List<ReadOnlyPerson> findPersonsByPhone(Phone phone) {
+        return getCurrentVersion().findByPhone(phone);
+    }
+
+    /**
+     * Returns the persons in the address book that have all of the given tags, in order.
+     * The persons are looked up by tag, without scanning the address book.
+     */
+    public List<ReadOnlyPerson> findPersonsWithAllTags(Collection<Tag> tags) {
+        return getCurrentVersion().findWithAllTags(tags);
+    }
+
+    /**
+     * Returns the persons in the address book that have any of the given tags, in order.
+     * The persons are looked up by tag, without scanning the address book.
+     */
+    public List<ReadOnlyPerson> findPersonsWithAnyTag(Collection<Tag> tags) {
+        return getCurrentVersion().findWithAnyTag(tags);
+    }
+
+    /**
+     * Returns up to {@code count} persons in the address book in name order, starting from position {@code from}
+     * in that order, counting from 0. Names are ordered ignoring case, and persons with the same name by phone.
+     * The persons are read from a sorted index, in time proportional to {@code count} plus the log of the size of
+     * the address book.
+     */
+    public List<ReadOnlyPerson> getPersonsSortedByName(int from, int count) {
+        return getCurrentVersion().getPersonsSortedByName(from, count);
+    }
+
+    /**
+     * Replaces the tags of the equivalent person in the address book.
+     * Use this rather than {@link Person#setTags} on a person in the address book, so that the tag index
+     * is kept up to date.
+     *
+     * @throws PersonNotFoundException if no such Person could be found.
+     */
+    public void setPersonTags(ReadOnlyPerson target, Set<Tag> replacement) throws PersonNotFoundException {
+        final Version base = currentVersion.get();
+        final UniquePersonList updated = base.getAllPersons();
+        final Person previous = updated.setTags(target, replacement);
+        publish(base, updated);
+        if (changeListener != null) {
+            changeListener.personRemoved(previous);
+            changeListener.personAdded(new Person(previous.getName(), previous.getPhone(), previous.getEmail(),
+                    previous.getAddress(), replacement));
+        }
     }
 
     /**
@@ -51,27 +267,93 @@ public class AddressBook {
      * @throws PersonNotFoundException if no such Person could be found.
      */
     public void removePerson(ReadOnlyPerson toRemove) throws PersonNotFoundException {
-        allPersons.remove(toRemove);
+        final Version base = currentVersion.get();
+        final UniquePersonList updated = base.getAllPersons();
+        updated.remove(toRemove);
+        publish(base, updated);
+        if (changeListener != null) {
+            changeListener.personRemoved(toRemove);
+        }
     }
 
     /**
      * Clears all persons and tags from the address book.
      */
     public void clear() {
-        allPersons.clear();
+        final Version base = currentVersion.get();
+        publish(base, new UniquePersonList());
+        if (changeListener != null) {
+            changeListener.cleared();
+        }
+    }
+
+    /**
+     * Publishes {@code updated}, a changed copy of the persons of {@code base}, as the next version.
+     *
+     * @throws ConcurrentModificationException if another change was published since {@code base},
+     *     which means the address book is being changed by more than one thread at once.
+     *     The change is then not made, and no listener is notified of it.
+     */
+    private void publish(Version base, UniquePersonList updated) {
+        final Version next = new Version(base.number + 1, updated, latestPersonStore);
+        if (!currentVersion.compareAndSet(base, next)) {
+            throw new ConcurrentModificationException("The address book was changed by more than one thread at once");
+        }
+    }
+
+    /**
+     * Returns the version published after the latest change. Can be called from any thread.
+     */
+    public Version getCurrentVersion() {
+        return currentVersion.get();
+    }
+
+    /**
+     * Returns the number of persons in the address book.
+     */
+    public int size() {
+        return getCurrentVersion().size();
+    }
+
+    /**
+     * Returns the number of changes made to the persons in this address book since it was created.
+     * The count only ever increases, so an unchanged count means the data has not been modified.
+     * It is the number of the current version.
+     */
+    public long getModificationCount() {
+        return getCurrentVersion().getNumber();
+    }
+
+    /**
+     * Registers {@code listener} to be notified of all subsequent changes to this address book,
+     * replacing any previously registered listener. A null {@code listener} removes the current one.
+     */
+    public void setChangeListener(ChangeListener listener) {
+        this.changeListener = listener;
     }
 
     /**
      * Returns a new UniquePersonList of all persons in the address book at the time of the call.
+     * The persons are not copied: the returned list shares storage with the address book until either is modified,
+     * so this takes constant time regardless of the size of the address book. Can be called from any thread.
      */
     public UniquePersonList getAllPersons() {
-        return new UniquePersonList(allPersons);
+        return getCurrentVersion().getAllPersons();
+    }
+
+    /**
+     * Returns the persons in the address book, in order, as a column-oriented store for scanning.
+     * The store is built when first requested after a change. Can be called from any thread.
+     * Callers must not add to the returned store.
+     */
+    public PersonStore getPersonStore() {
+        return getCurrentVersion().getPersonStore();
     }
 
     @Override
     public boolean equals(Object other) {
         return other == this // short circuit if same object
                 || (other instanceof AddressBook // instanceof handles nulls
-                        && this.allPersons.equals(((AddressBook) other).allPersons));
+                        && this.getCurrentVersion().persons.equals(((AddressBook) other).getCurrentVersion().persons));
     }
 }
@@ -0,0 +1,66 @@
+package seedu.addressbook.data;
+
+import java.util.Collection;
+import java.util.Set;
+
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.person.ReadOnlyPerson;
+import seedu.addressbook.data.person.UniquePersonList;
+import seedu.addressbook.data.person.UniquePersonList.DuplicatePersonException;
+import seedu.addressbook.data.person.UniquePersonList.PersonNotFoundException;
+import seedu.addressbook.data.tag.Tag;
+
+/**
+ * An address book that can be changed by several threads at once.
+ *
+ * Changes to the persons are made one at a time, holding the monitor of the address book, so that a change is never
+ * lost to another made at the same time, and the change listener is notified of the changes in the order they were
+ * made. Queries read the published {@link Version}, as in any address book, so they take no lock at all.
+ */
+public class ConcurrentAddressBook extends AddressBook {
+
+    /**
+     * Creates an empty address book.
+     */
+    public ConcurrentAddressBook() {}
+
+    /**
+     * Constructs an address book with the given data.
+     *
+     * @param persons external changes to this will not affect this address book
+     */
+    public ConcurrentAddressBook(UniquePersonList persons) {
+        super(persons);
+    }
+
+    @Override
+    public synchronized void addPerson(Person toAdd) throws DuplicatePersonException {
+        super.addPerson(toAdd);
+    }
+
+    @Override
+    public synchronized void addAll(Collection<Person> toAdd) throws DuplicatePersonException {
+        super.addAll(toAdd);
+    }
+
+    @Override
+    public synchronized void removePerson(ReadOnlyPerson toRemove) throws PersonNotFoundException {
+        super.removePerson(toRemove);
+    }
+
+    @Override
+    public synchronized void setPersonTags(ReadOnlyPerson target, Set<Tag> replacement)
+            throws PersonNotFoundException {
+        super.setPersonTags(target, replacement);
+    }
+
+    @Override
+    public synchronized void clear() {
+        super.clear();
+    }
+
+    @Override
+    public synchronized void setChangeListener(ChangeListener listener) {
+        super.setChangeListener(listener);
+    }
+}
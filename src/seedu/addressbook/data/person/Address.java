@@ -1,5 +1,6 @@
 package seedu.addressbook.data.person;
 
+import seedu.addressbook.common.FieldValidators;
 import seedu.addressbook.data.exception.IllegalValueException;
 
 /**
@@ -33,7 +34,7 @@ public class Address {
      * Returns true if a given string is a valid person address.
      */
     public static boolean isValidAddress(String test) {
-        return test.matches(ADDRESS_VALIDATION_REGEX);
+        return FieldValidators.isSingleLine(test);
     }
 
     @Override
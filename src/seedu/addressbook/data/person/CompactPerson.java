@@ -0,0 +1,165 @@
+package seedu.addressbook.data.person;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import seedu.addressbook.data.exception.IllegalValueException;
+import seedu.addressbook.data.tag.TagSet;
+
+/**
+ * A memory-compact, immutable representation of a person in the address book.
+ *
+ * The name, phone, email and address of the person are packed into a single char array, and the privacy of the
+ * phone, email and address is kept in one bit field. The tags are kept in the {@link TagSet} of the source person,
+ * which is shared rather than copied. A compact person is therefore two objects of its own, instead of the ten or so
+ * objects that make up a {@link Person}. The {@link Name}, {@link Phone}, {@link Email} and {@link Address} of the
+ * person are created from the packed data each time they are requested, so callers should keep the returned objects
+ * rather than request them repeatedly.
+ */
+public class CompactPerson implements ReadOnlyPerson {
+
+    private static final int PHONE_PRIVATE_FLAG = 1;
+    private static final int EMAIL_PRIVATE_FLAG = 1 << 1;
+    private static final int ADDRESS_PRIVATE_FLAG = 1 << 2;
+
+    /** The name, phone, email and address, one after another. */
+    private final char[] data;
+    private final int nameEnd;
+    private final int phoneEnd;
+    private final int emailEnd;
+    private final byte privacyFlags;
+    private final TagSet tags;
+
+    /**
+     * Creates a compact person with the same details as {@code source}.
+     */
+    public CompactPerson(ReadOnlyPerson source) {
+        final String name = source.getName().fullName;
+        final String phone = source.getPhone().value;
+        final String email = source.getEmail().value;
+        final String address = source.getAddress().value;
+
+        nameEnd = name.length();
+        phoneEnd = nameEnd + phone.length();
+        emailEnd = phoneEnd + email.length();
+        data = new char[emailEnd + address.length()];
+        name.getChars(0, name.length(), data, 0);
+        phone.getChars(0, phone.length(), data, nameEnd);
+        email.getChars(0, email.length(), data, phoneEnd);
+        address.getChars(0, address.length(), data, emailEnd);
+        tags = TagSet.of(source.getTags());
+
+        int flags = 0;
+        if (source.getPhone().isPrivate()) {
+            flags |= PHONE_PRIVATE_FLAG;
+        }
+        if (source.getEmail().isPrivate()) {
+            flags |= EMAIL_PRIVATE_FLAG;
+        }
+        if (source.getAddress().isPrivate()) {
+            flags |= ADDRESS_PRIVATE_FLAG;
+        }
+        privacyFlags = (byte) flags;
+    }
+
+    @Override
+    public Name getName() {
+        try {
+            return new Name(new String(data, 0, nameEnd));
+        } catch (IllegalValueException ive) {
+            throw new AssertionError("The packed name was taken from a valid name.");
+        }
+    }
+
+    @Override
+    public Phone getPhone() {
+        try {
+            return new Phone(new String(data, nameEnd, phoneEnd - nameEnd), isFlagSet(PHONE_PRIVATE_FLAG));
+        } catch (IllegalValueException ive) {
+            throw new AssertionError("The packed phone was taken from a valid phone.");
+        }
+    }
+
+    @Override
+    public Email getEmail() {
+        try {
+            return new Email(new String(data, phoneEnd, emailEnd - phoneEnd), isFlagSet(EMAIL_PRIVATE_FLAG));
+        } catch (IllegalValueException ive) {
+            throw new AssertionError("The packed email was taken from a valid email.");
+        }
+    }
+
+    @Override
+    public Address getAddress() {
+        try {
+            return new Address(new String(data, emailEnd, data.length - emailEnd), isFlagSet(ADDRESS_PRIVATE_FLAG));
+        } catch (IllegalValueException ive) {
+            throw new AssertionError("The packed address was taken from a valid address.");
+        }
+    }
+
+    @Override
+    public TagSet getTags() {
+        return tags;
+    }
+
+    private boolean isFlagSet(int flag) {
+        return (privacyFlags & flag) != 0;
+    }
+
+    /**
+     * Returns a {@code Person} with the same details as this person.
+     */
+    public Person toPerson() {
+        return new Person(getName(), getPhone(), getEmail(), getAddress(), getTags());
+    }
+
+    @Override
+    public boolean isSamePerson(ReadOnlyPerson other) {
+        if (other instanceof CompactPerson) {
+            final CompactPerson otherPerson = (CompactPerson) other;
+            return otherPerson.phoneEnd == phoneEnd && otherPerson.nameEnd == nameEnd
+                    && isRangeEqual(data, otherPerson.data, 0, phoneEnd);
+        }
+        return ReadOnlyPerson.super.isSamePerson(other);
+    }
+
+    @Override
+    public boolean hasSameData(ReadOnlyPerson other) {
+        if (other instanceof CompactPerson) {
+            final CompactPerson otherPerson = (CompactPerson) other;
+            // privacy is ignored, as it is by Person
+            return otherPerson.nameEnd == nameEnd && otherPerson.phoneEnd == phoneEnd
+                    && otherPerson.emailEnd == emailEnd && Arrays.equals(data, otherPerson.data)
+                    && otherPerson.tags.equals(tags);
+        }
+        return ReadOnlyPerson.super.hasSameData(other);
+    }
+
+    private static boolean isRangeEqual(char[] first, char[] second, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (first[i] != second[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other == this // short circuit if same object
+                || (other instanceof ReadOnlyPerson // instanceof handles nulls
+                && this.hasSameData((ReadOnlyPerson) other));
+    }
+
+    @Override
+    public int hashCode() {
+        // same as Person, so that equal persons have equal hash codes whatever their representation
+        return Objects.hash(getName(), getPhone(), getEmail(), getAddress(), getTags());
+    }
+
+    @Override
+    public String toString() {
+        return getAsTextShowAll();
+    }
+}
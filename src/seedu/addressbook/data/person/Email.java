@@ -1,5 +1,6 @@
 package seedu.addressbook.data.person;
 
+import seedu.addressbook.common.FieldValidators;
 import seedu.addressbook.data.exception.IllegalValueException;
 
 /**
@@ -34,7 +35,7 @@ public class Email {
      * Returns true if the given string is a valid person email.
      */
     public static boolean isValidEmail(String test) {
-        return test.matches(EMAIL_VALIDATION_REGEX);
+        return FieldValidators.isWordsAtWords(test);
     }
 
     @Override
@@ -0,0 +1,182 @@
+package seedu.addressbook.data.person;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * An index of persons sorted by name, ignoring case, with ties broken by the exact name and then by phone number.
+ * As the name and phone number identify a person, no two persons in the index are tied.
+ *
+ * The index is a treap: a binary search tree kept balanced by random priorities, so that adding, removing and
+ * finding the person at a position in the order all take O(log n) expected time. The treap is persistent: nodes
+ * never change once created, and adding or removing a person creates new nodes only along the path to it.
+ * Copies of the index therefore share all their other nodes, and making a copy takes O(1) time.
+ */
+class NameIndex {
+
+    /** The order of the index. */
+    static final Comparator<ReadOnlyPerson> NAME_ORDER =
+            Comparator.comparing((ReadOnlyPerson person) -> person.getName().fullName, String.CASE_INSENSITIVE_ORDER)
+                    .thenComparing(person -> person.getName().fullName)
+                    .thenComparing(person -> person.getPhone().value);
+
+    private static class Node {
+        final Person person;
+        final int priority;
+        final Node left;
+        final Node right;
+        /** Number of persons in the subtree rooted at this node. */
+        final int size;
+
+        Node(Person person, int priority, Node left, Node right) {
+            this.person = person;
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+            this.size = 1 + sizeOf(left) + sizeOf(right);
+        }
+
+        Node withLeft(Node newLeft) {
+            return newLeft == left ? this : new Node(person, priority, newLeft, right);
+        }
+
+        Node withRight(Node newRight) {
+            return newRight == right ? this : new Node(person, priority, left, newRight);
+        }
+    }
+
+    private Node root;
+
+    /**
+     * Creates an empty index.
+     */
+    NameIndex() {}
+
+    /**
+     * Creates a copy of {@code source}, in O(1). The copy shares the nodes of {@code source}.
+     */
+    NameIndex(NameIndex source) {
+        root = source.root;
+    }
+
+    private static int sizeOf(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * Returns the number of persons in the index.
+     */
+    int size() {
+        return sizeOf(root);
+    }
+
+    /**
+     * Adds {@code person}, who must not be tied with any person in the index.
+     */
+    void add(Person person) {
+        root = insert(root, person, ThreadLocalRandom.current().nextInt());
+    }
+
+    private static Node insert(Node node, Person person, int priority) {
+        if (node == null) {
+            return new Node(person, priority, null, null);
+        }
+        if (priority > node.priority) {
+            final Node[] parts = split(node, person);
+            return new Node(person, priority, parts[0], parts[1]);
+        }
+        if (NAME_ORDER.compare(person, node.person) < 0) {
+            return node.withLeft(insert(node.left, person, priority));
+        }
+        return node.withRight(insert(node.right, person, priority));
+    }
+
+    /**
+     * Returns the trees of the persons in {@code node} before {@code person}, and of those after it.
+     */
+    private static Node[] split(Node node, ReadOnlyPerson person) {
+        if (node == null) {
+            return new Node[2];
+        }
+        if (NAME_ORDER.compare(node.person, person) < 0) {
+            final Node[] parts = split(node.right, person);
+            return new Node[] {node.withRight(parts[0]), parts[1]};
+        }
+        final Node[] parts = split(node.left, person);
+        return new Node[] {parts[0], node.withLeft(parts[1])};
+    }
+
+    /**
+     * Removes the person tied with {@code person}. Does nothing if there is none.
+     */
+    void remove(ReadOnlyPerson person) {
+        root = delete(root, person);
+    }
+
+    private static Node delete(Node node, ReadOnlyPerson person) {
+        if (node == null) {
+            return null;
+        }
+        final int comparison = NAME_ORDER.compare(person, node.person);
+        if (comparison < 0) {
+            return node.withLeft(delete(node.left, person));
+        }
+        if (comparison > 0) {
+            return node.withRight(delete(node.right, person));
+        }
+        return merge(node.left, node.right);
+    }
+
+    /**
+     * Returns the tree of the persons in {@code left} and {@code right}, all of whom in {@code left} come first.
+     */
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            return left.withRight(merge(left.right, right));
+        }
+        return right.withLeft(merge(left, right.left));
+    }
+
+    /**
+     * Returns up to {@code count} persons in order, starting from position {@code from}, counting from 0.
+     * Takes O(log n + count) expected time.
+     */
+    List<ReadOnlyPerson> getRange(int from, int count) {
+        final List<ReadOnlyPerson> range = new ArrayList<>(Math.max(0, Math.min(count, size() - from)));
+        // the nodes still to be visited in order, each followed by its right subtree
+        final Deque<Node> pending = new ArrayDeque<>();
+        Node node = root;
+        int skip = from;
+        while (node != null) {
+            final int leftSize = sizeOf(node.left);
+            if (skip < leftSize) {
+                pending.push(node);
+                node = node.left;
+            } else if (skip == leftSize) {
+                pending.push(node);
+                break;
+            } else {
+                skip -= leftSize + 1;
+                node = node.right;
+            }
+        }
+        while (range.size() < count && !pending.isEmpty()) {
+            final Node next = pending.pop();
+            range.add(next.person);
+            for (Node descendant = next.right; descendant != null; descendant = descendant.left) {
+                pending.push(descendant);
+            }
+        }
+        return range;
+    }
+}
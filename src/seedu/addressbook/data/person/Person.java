@@ -1,10 +1,10 @@
 package seedu.addressbook.data.person;
 
-import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
 
 import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.data.tag.TagSet;
 
 /**
  * Represents a Person in the address book.
@@ -17,7 +17,8 @@ public class Person implements ReadOnlyPerson {
     private Email email;
     private Address address;
 
-    private final Set<Tag> tags = new HashSet<>();
+    /** Replaced as a whole by {@link #setTags(Set)}, so readers always see a complete set of tags. */
+    private volatile TagSet tags;
 
     /**
      * Assumption: Every field must be present and not null.
@@ -27,7 +28,7 @@ public class Person implements ReadOnlyPerson {
         this.phone = phone;
         this.email = email;
         this.address = address;
-        this.tags.addAll(tags);
+        this.tags = TagSet.of(tags);
     }
 
     /**
@@ -58,16 +59,15 @@ public class Person implements ReadOnlyPerson {
     }
 
     @Override
-    public Set<Tag> getTags() {
-        return new HashSet<>(tags);
+    public TagSet getTags() {
+        return tags;
     }
 
     /**
      * Replaces this person's tags with the tags in the argument tag set.
      */
     public void setTags(Set<Tag> replacement) {
-        tags.clear();
-        tags.addAll(replacement);
+        tags = TagSet.of(replacement);
     }
 
     @Override
@@ -0,0 +1,461 @@
+package seedu.addressbook.data.person;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+import seedu.addressbook.data.exception.IllegalValueException;
+import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.data.tag.TagSet;
+
+/**
+ * A column-oriented store of persons, for queries that scan many persons.
+ *
+ * The rows of the store are split into blocks. In each block, each detail of the persons is kept in its own column:
+ * the names, phones, emails and addresses are each packed into one contiguous char array, the privacy flags into a
+ * byte array, and the tag ids into another char array. A scan over one detail therefore reads contiguous memory
+ * instead of following references from each person. Tag ids are assigned by each block to the tags it holds, so a
+ * tag is only kept in memory by the blocks that hold it.
+ *
+ * Persons are appended as rows, and a row never changes once added, so blocks can be shared between stores.
+ * Persons are read back as {@link ReadOnlyPerson} views of their row, which remain valid for the lifetime of the
+ * store.
+ */
+public class PersonStore {
+
+    /** Stores with at least this many rows are scanned in parallel. */
+    private static final int MIN_ROWS_FOR_PARALLEL_SCAN = 1 << 16;
+
+    /** Most rows in a block of persons added one by one. */
+    private static final int MAX_ADDED_BLOCK_ROWS = 1 << 10;
+
+    private static final int PHONE_PRIVATE_FLAG = 1;
+    private static final int EMAIL_PRIVATE_FLAG = 1 << 1;
+    private static final int ADDRESS_PRIVATE_FLAG = 1 << 2;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Block[] blocks = new Block[INITIAL_CAPACITY];
+
+    /** The first row of each block. */
+    private int[] blockStarts = new int[INITIAL_CAPACITY];
+
+    private int blockCount;
+    private int rowCount;
+
+    /**
+     * A column of strings packed one after another into a single char array.
+     */
+    private static class TextColumn {
+        private char[] chars = new char[INITIAL_CAPACITY * 8];
+        /** The end of each row in {@link #chars}. Each row starts where the previous row ends. */
+        private int[] ends = new int[INITIAL_CAPACITY];
+        private int length;
+
+        void append(int row, CharSequence text) {
+            if (length + text.length() > chars.length) {
+                chars = Arrays.copyOf(chars, Math.max(chars.length * 2, length + text.length()));
+            }
+            for (int i = 0; i < text.length(); i++) {
+                chars[length++] = text.charAt(i);
+            }
+            if (row == ends.length) {
+                ends = Arrays.copyOf(ends, ends.length * 2);
+            }
+            ends[row] = length;
+        }
+
+        int start(int row) {
+            return row == 0 ? 0 : ends[row - 1];
+        }
+
+        int end(int row) {
+            return ends[row];
+        }
+
+        String get(int row) {
+            return new String(chars, start(row), end(row) - start(row));
+        }
+
+        /**
+         * Returns true if the text in {@code row} contains {@code word} as a whole word, separated by whitespace.
+         */
+        boolean containsWord(int row, String word) {
+            final int rowEnd = end(row);
+            int wordStart = start(row);
+            while (wordStart < rowEnd) {
+                while (wordStart < rowEnd && Character.isWhitespace(chars[wordStart])) {
+                    wordStart++;
+                }
+                int wordEnd = wordStart;
+                while (wordEnd < rowEnd && !Character.isWhitespace(chars[wordEnd])) {
+                    wordEnd++;
+                }
+                if (wordEnd - wordStart == word.length() && isRegionEqual(wordStart, word)) {
+                    return true;
+                }
+                wordStart = wordEnd;
+            }
+            return false;
+        }
+
+        private boolean isRegionEqual(int from, String text) {
+            for (int i = 0; i < text.length(); i++) {
+                if (chars[from + i] != text.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        boolean contains(int row, char value) {
+            for (int i = start(row); i < end(row); i++) {
+                if (chars[i] == value) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Consecutive rows of the store. Rows are counted from 0 within each block.
+     */
+    private static class Block {
+        /** The chunk of a {@link UniquePersonList} the persons were taken from, or null if they were added. */
+        private final Person[] chunk;
+
+        private final TextColumn names = new TextColumn();
+        private final TextColumn phones = new TextColumn();
+        private final TextColumn emails = new TextColumn();
+        private final TextColumn addresses = new TextColumn();
+        private final TextColumn tagIds = new TextColumn();
+        private byte[] privacyFlags = new byte[INITIAL_CAPACITY];
+        private int rowCount;
+
+        /** The id of each tag in the block, and the tag with each id. */
+        private final Map<Tag, Integer> idsByTag = new HashMap<>();
+        private final List<Tag> tagsById = new ArrayList<>();
+
+        Block(Person[] chunk) {
+            this.chunk = chunk;
+        }
+
+        /**
+         * Creates a block of the persons in {@code chunk}, in order, skipping null slots.
+         */
+        static Block of(Person[] chunk) {
+            final Block block = new Block(chunk);
+            for (Person person : chunk) {
+                if (person != null) {
+                    block.add(person);
+                }
+            }
+            return block;
+        }
+
+        void add(ReadOnlyPerson person) {
+            final int row = rowCount;
+            names.append(row, person.getName().fullName);
+            phones.append(row, person.getPhone().value);
+            emails.append(row, person.getEmail().value);
+            addresses.append(row, person.getAddress().value);
+
+            final StringBuilder ids = new StringBuilder();
+            for (Tag tag : TagSet.of(person.getTags())) {
+                ids.append(getOrAssignTagId(tag));
+            }
+            tagIds.append(row, ids);
+
+            int flags = 0;
+            if (person.getPhone().isPrivate()) {
+                flags |= PHONE_PRIVATE_FLAG;
+            }
+            if (person.getEmail().isPrivate()) {
+                flags |= EMAIL_PRIVATE_FLAG;
+            }
+            if (person.getAddress().isPrivate()) {
+                flags |= ADDRESS_PRIVATE_FLAG;
+            }
+            if (row == privacyFlags.length) {
+                privacyFlags = Arrays.copyOf(privacyFlags, privacyFlags.length * 2);
+            }
+            privacyFlags[row] = (byte) flags;
+
+            rowCount++;
+        }
+
+        /**
+         * Returns the id of {@code tag} in this block, assigning it the next unused id if it has none.
+         *
+         * @throws IllegalStateException if there are too many distinct tags in the block for their ids to be stored.
+         */
+        private char getOrAssignTagId(Tag tag) {
+            final Integer id = idsByTag.get(tag);
+            if (id != null) {
+                return (char) id.intValue();
+            }
+            if (tagsById.size() > Character.MAX_VALUE) {
+                throw new IllegalStateException("Too many distinct tags to store tag ids in a person store");
+            }
+            final char newId = (char) tagsById.size();
+            tagsById.add(tag);
+            idsByTag.put(tag, (int) newId);
+            return newId;
+        }
+
+        boolean hasTag(int row, Tag tag) {
+            final Integer id = idsByTag.get(tag);
+            return id != null && tagIds.contains(row, (char) id.intValue());
+        }
+    }
+
+    /**
+     * Tests a row of a block, given the first row of the block in the store.
+     */
+    private interface BlockRowPredicate {
+        boolean test(Block block, int blockStart, int row);
+    }
+
+    /**
+     * Creates an empty store.
+     */
+    public PersonStore() {}
+
+    /**
+     * Creates a store containing the given persons, in order.
+     */
+    public PersonStore(Iterable<? extends ReadOnlyPerson> persons) {
+        for (ReadOnlyPerson person : persons) {
+            add(person);
+        }
+    }
+
+    /**
+     * Creates a store of the persons in the first {@code chunkCount} of {@code chunks}, in order, skipping null slots.
+     * Each chunk becomes a block, and the blocks of {@code previous}, if not null, that were made from the same
+     * chunks are reused. The chunks must not be modified afterwards.
+     */
+    static PersonStore ofChunks(Person[][] chunks, int chunkCount, PersonStore previous) {
+        final PersonStore store = new PersonStore();
+        for (int i = 0; i < chunkCount; i++) {
+            final boolean isReusable = previous != null && i < previous.blockCount
+                    && previous.blocks[i].chunk == chunks[i];
+            store.appendBlock(isReusable ? previous.blocks[i] : Block.of(chunks[i]));
+        }
+        return store;
+    }
+
+    private void appendBlock(Block block) {
+        if (blockCount == blocks.length) {
+            blocks = Arrays.copyOf(blocks, blockCount * 2);
+            blockStarts = Arrays.copyOf(blockStarts, blockCount * 2);
+        }
+        blocks[blockCount] = block;
+        blockStarts[blockCount] = rowCount;
+        blockCount++;
+        rowCount += block.rowCount;
+    }
+
+    /**
+     * Appends {@code person} as a new row, and returns the row.
+     *
+     * @throws IllegalStateException if there are too many distinct tags in use for their ids to be stored.
+     */
+    public int add(ReadOnlyPerson person) {
+        if (blockCount == 0 || blocks[blockCount - 1].chunk != null
+                || blocks[blockCount - 1].rowCount == MAX_ADDED_BLOCK_ROWS) {
+            appendBlock(new Block(null));
+        }
+        blocks[blockCount - 1].add(person);
+        return rowCount++;
+    }
+
+    /**
+     * Returns the block holding {@code row}, which must be a row of the store.
+     * An empty block starts at the same row as the block after it, so the last block starting at or before
+     * {@code row} is the one holding it.
+     */
+    private int findBlock(int row) {
+        int low = 0;
+        int high = blockCount - 1;
+        while (low < high) {
+            final int middle = (low + high + 1) >>> 1;
+            if (blockStarts[middle] <= row) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the number of rows in the store.
+     */
+    public int size() {
+        return rowCount;
+    }
+
+    /**
+     * Returns a view of the person in {@code row}.
+     *
+     * @throws IndexOutOfBoundsException if there is no such row.
+     */
+    public ReadOnlyPerson getPerson(int row) {
+        if (row < 0 || row >= rowCount) {
+            throw new IndexOutOfBoundsException("Row: " + row + ", Size: " + rowCount);
+        }
+        return new PersonView(row);
+    }
+
+    /**
+     * Returns true if the name in {@code row} contains {@code word} as a whole word. The match is case sensitive.
+     */
+    public boolean hasNameWord(int row, String word) {
+        final int block = findBlock(row);
+        return blocks[block].names.containsWord(row - blockStarts[block], word);
+    }
+
+    /**
+     * Returns true if the person in {@code row} has {@code tag}.
+     * A tag that is not in the store is not given an id.
+     */
+    public boolean hasTag(int row, Tag tag) {
+        final int block = findBlock(row);
+        return blocks[block].hasTag(row - blockStarts[block], tag);
+    }
+
+    /**
+     * Returns views of the persons whose names contain any of {@code words} as a whole word, in row order.
+     * The match is case sensitive.
+     */
+    public List<ReadOnlyPerson> findByNameWords(Collection<String> words) {
+        final String[] wordArray = words.toArray(new String[0]);
+        return filterRows((block, blockStart, row) -> {
+            for (String word : wordArray) {
+                if (block.names.containsWord(row, word)) {
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Returns views of the persons in the rows accepted by {@code rowPredicate}, in row order.
+     * Large stores are scanned in parallel, so {@code rowPredicate} must be safe to call from several threads.
+     */
+    public List<ReadOnlyPerson> filter(IntPredicate rowPredicate) {
+        return filterRows((block, blockStart, row) -> rowPredicate.test(blockStart + row));
+    }
+
+    private List<ReadOnlyPerson> filterRows(BlockRowPredicate predicate) {
+        final Block[] scannedBlocks = blocks;
+        final int[] scannedStarts = blockStarts;
+        IntStream blockIndexes = IntStream.range(0, blockCount);
+        if (rowCount >= MIN_ROWS_FOR_PARALLEL_SCAN) {
+            blockIndexes = blockIndexes.parallel();
+        }
+        final int[] matchedRows = blockIndexes.flatMap(i -> IntStream.range(0, scannedBlocks[i].rowCount)
+                .filter(row -> predicate.test(scannedBlocks[i], scannedStarts[i], row))
+                .map(row -> scannedStarts[i] + row))
+                .toArray();
+
+        final List<ReadOnlyPerson> matchedPersons = new ArrayList<>(matchedRows.length);
+        for (int row : matchedRows) {
+            matchedPersons.add(new PersonView(row));
+        }
+        return matchedPersons;
+    }
+
+    /**
+     * A person read from a row of the store. Its details are recreated from the columns each time they are requested.
+     */
+    private class PersonView implements ReadOnlyPerson {
+        private final Block block;
+        private final int row;
+
+        /**
+         * @param row the row of the person in the store.
+         */
+        PersonView(int row) {
+            final int blockIndex = findBlock(row);
+            this.block = blocks[blockIndex];
+            this.row = row - blockStarts[blockIndex];
+        }
+
+        private boolean isFlagSet(int flag) {
+            return (block.privacyFlags[row] & flag) != 0;
+        }
+
+        @Override
+        public Name getName() {
+            try {
+                return new Name(block.names.get(row));
+            } catch (IllegalValueException ive) {
+                throw new AssertionError("The stored name was taken from a valid name.");
+            }
+        }
+
+        @Override
+        public Phone getPhone() {
+            try {
+                return new Phone(block.phones.get(row), isFlagSet(PHONE_PRIVATE_FLAG));
+            } catch (IllegalValueException ive) {
+                throw new AssertionError("The stored phone was taken from a valid phone.");
+            }
+        }
+
+        @Override
+        public Email getEmail() {
+            try {
+                return new Email(block.emails.get(row), isFlagSet(EMAIL_PRIVATE_FLAG));
+            } catch (IllegalValueException ive) {
+                throw new AssertionError("The stored email was taken from a valid email.");
+            }
+        }
+
+        @Override
+        public Address getAddress() {
+            try {
+                return new Address(block.addresses.get(row), isFlagSet(ADDRESS_PRIVATE_FLAG));
+            } catch (IllegalValueException ive) {
+                throw new AssertionError("The stored address was taken from a valid address.");
+            }
+        }
+
+        @Override
+        public TagSet getTags() {
+            final List<Tag> tags = new ArrayList<>();
+            for (int i = block.tagIds.start(row); i < block.tagIds.end(row); i++) {
+                tags.add(block.tagsById.get(block.tagIds.chars[i]));
+            }
+            return TagSet.of(tags);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other == this // short circuit if same object
+                    || (other instanceof ReadOnlyPerson // instanceof handles nulls
+                    && this.hasSameData((ReadOnlyPerson) other));
+        }
+
+        @Override
+        public int hashCode() {
+            // same as Person, so that equal persons have equal hash codes whatever their representation
+            return Objects.hash(getName(), getPhone(), getEmail(), getAddress(), getTags());
+        }
+
+        @Override
+        public String toString() {
+            return getAsTextShowAll();
+        }
+    }
+}
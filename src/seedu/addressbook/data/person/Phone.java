@@ -1,5 +1,6 @@
 package seedu.addressbook.data.person;
 
+import seedu.addressbook.common.FieldValidators;
 import seedu.addressbook.data.exception.IllegalValueException;
 
 /**
@@ -33,7 +34,7 @@ public class Phone {
      * Returns true if the given string is a valid person phone number.
      */
     public static boolean isValidPhone(String test) {
-        return test.matches(PHONE_VALIDATION_REGEX);
+        return FieldValidators.isDigits(test);
     }
 
     @Override
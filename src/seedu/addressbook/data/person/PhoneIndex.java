@@ -0,0 +1,329 @@
+package seedu.addressbook.data.person;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * An index from phone numbers to the rows of the persons with them. Several rows may have the same phone number.
+ *
+ * Phone numbers are kept as {@code long} keys in open-addressing hash tables, so that looking one up needs no
+ * objects to be created. The key is the digits of the number preceded by a 1, so that numbers differing only in
+ * their leading zeros have different keys. Numbers with more digits than fit in a key are kept in a separate map.
+ *
+ * The keys are spread over many small tables, called segments, by their hash. Copies of the index share the
+ * segments until either index is modified, and then copy only the array of segments and the segments they write to,
+ * as {@link UniquePersonList} does with its chunks of persons.
+ */
+class PhoneIndex {
+
+    /** The most digits a phone number can have and still fit in a key after the leading 1. */
+    private static final int MAX_KEY_DIGITS = 18;
+
+    /** Marks a free entry in the keys of a segment. Every key starts with a 1, so no key is 0. */
+    private static final long FREE = 0;
+
+    private static final int INITIAL_SEGMENT_CAPACITY = 16;
+
+    /** Average number of entries per segment above which the number of segments is doubled. */
+    private static final int MAX_AVERAGE_SEGMENT_ENTRIES = 256;
+
+    /**
+     * A hash table of keys and rows, probed linearly. Keys are placed in the table by the highest bits of their
+     * hash, as the lower bits of a multiplicative hash depend only on the lower bits of the key, and so are the same
+     * for numbers ending in the same digits.
+     */
+    private static class Segment {
+        private long[] keys;
+        private int[] rows;
+        private int entryCount;
+
+        Segment(int capacity) {
+            keys = new long[capacity];
+            rows = new int[capacity];
+        }
+
+        Segment(Segment source) {
+            keys = source.keys.clone();
+            rows = source.rows.clone();
+            entryCount = source.entryCount;
+        }
+
+        int firstEntry(long hash) {
+            return (int) (hash >>> (Long.SIZE - Integer.numberOfTrailingZeros(keys.length)));
+        }
+
+        void insert(long key, int row) {
+            if ((entryCount + 1) * 2 > keys.length) {
+                resize(keys.length * 2);
+            }
+            int entry = firstEntry(hash(key));
+            while (keys[entry] != FREE) {
+                entry = (entry + 1) & (keys.length - 1);
+            }
+            keys[entry] = key;
+            rows[entry] = row;
+            entryCount++;
+        }
+
+        private void resize(int capacity) {
+            final long[] oldKeys = keys;
+            final int[] oldRows = rows;
+            keys = new long[capacity];
+            rows = new int[capacity];
+            entryCount = 0;
+            for (int entry = 0; entry < oldKeys.length; entry++) {
+                if (oldKeys[entry] != FREE) {
+                    insert(oldKeys[entry], oldRows[entry]);
+                }
+            }
+        }
+
+        /**
+         * Returns the entry holding {@code row} under {@code key}, or -1 if there is none.
+         */
+        int findEntry(long key, int row) {
+            int entry = firstEntry(hash(key));
+            while (keys[entry] != FREE) {
+                if (keys[entry] == key && rows[entry] == row) {
+                    return entry;
+                }
+                entry = (entry + 1) & (keys.length - 1);
+            }
+            return -1;
+        }
+
+        /**
+         * Frees {@code entry}, moving back any later entries of the same probe run that can no longer be reached.
+         */
+        void removeEntry(int entry) {
+            final int mask = keys.length - 1;
+            int free = entry;
+            int next = (free + 1) & mask;
+            while (keys[next] != FREE) {
+                final int home = firstEntry(hash(keys[next]));
+                // move the entry back if the freed entry lies between its home and where it is now
+                if (((next - home) & mask) >= ((next - free) & mask)) {
+                    keys[free] = keys[next];
+                    rows[free] = rows[next];
+                    free = next;
+                }
+                next = (next + 1) & mask;
+            }
+            keys[free] = FREE;
+            entryCount--;
+        }
+    }
+
+    private Segment[] segments = {new Segment(INITIAL_SEGMENT_CAPACITY)};
+
+    /** True if {@link #segments} may be shared with a copy of this index, and must be copied before it is modified. */
+    private boolean isSpineShared;
+
+    /** Whether each segment is owned by this index, and can be modified without copying it first. */
+    private boolean[] isSegmentOwned = {true};
+
+    private int entryCount;
+
+    /**
+     * The rows of the phone numbers too long to be keys.
+     * Shared with copies of the index, and copied as a whole before being modified, as such numbers are rare.
+     */
+    private Map<String, List<Integer>> overlongRows = new HashMap<>();
+
+    private boolean isOverlongRowsShared;
+
+    /**
+     * Creates an empty index.
+     */
+    PhoneIndex() {}
+
+    /**
+     * Creates a copy of {@code source}, in time proportional to its number of segments.
+     * The copy shares its storage with {@code source} until either index is modified.
+     */
+    PhoneIndex(PhoneIndex source) {
+        segments = source.segments;
+        isSegmentOwned = new boolean[segments.length];
+        entryCount = source.entryCount;
+        overlongRows = source.overlongRows;
+        isSpineShared = true;
+        isOverlongRowsShared = true;
+        source.isSpineShared = true;
+        source.isOverlongRowsShared = true;
+    }
+
+    /**
+     * Returns the key of {@code phone}, or -1 if it has too many digits to be a key.
+     * {@code phone} must be a valid phone number.
+     */
+    static long toKey(String phone) {
+        if (phone.length() > MAX_KEY_DIGITS) {
+            return -1;
+        }
+        long key = 1;
+        for (int i = 0; i < phone.length(); i++) {
+            key = key * 10 + (phone.charAt(i) - '0');
+        }
+        return key;
+    }
+
+    private static long hash(long key) {
+        return key * 0x9E3779B97F4A7C15L;
+    }
+
+    /**
+     * Returns the segment of {@code key}, chosen by the bits of its hash from bit 32 up, below the highest
+     * bits that place the key within its segment.
+     */
+    private int segmentOf(long key) {
+        return (int) (hash(key) >>> 32) & (segments.length - 1);
+    }
+
+    /**
+     * Returns the segment at {@code index}, first copying any storage shared with other indexes.
+     */
+    private Segment getOwnedSegment(int index) {
+        if (isSpineShared) {
+            segments = segments.clone();
+            isSegmentOwned = new boolean[segments.length];
+            isSpineShared = false;
+        }
+        if (!isSegmentOwned[index]) {
+            segments[index] = new Segment(segments[index]);
+            isSegmentOwned[index] = true;
+        }
+        return segments[index];
+    }
+
+    private Map<String, List<Integer>> getOwnedOverlongRows() {
+        if (isOverlongRowsShared) {
+            final Map<String, List<Integer>> copy = new HashMap<>();
+            overlongRows.forEach((phone, phoneRows) -> copy.put(phone, new ArrayList<>(phoneRows)));
+            overlongRows = copy;
+            isOverlongRowsShared = false;
+        }
+        return overlongRows;
+    }
+
+    /**
+     * Adds {@code row} under {@code phone}.
+     */
+    void put(String phone, int row) {
+        final long key = toKey(phone);
+        if (key < 0) {
+            getOwnedOverlongRows().computeIfAbsent(phone, unused -> new ArrayList<>()).add(row);
+            return;
+        }
+        if (entryCount + 1 > segments.length * MAX_AVERAGE_SEGMENT_ENTRIES) {
+            split();
+        }
+        getOwnedSegment(segmentOf(key)).insert(key, row);
+        entryCount++;
+    }
+
+    /**
+     * Doubles the number of segments, moving every entry into a new segment.
+     */
+    private void split() {
+        final Segment[] oldSegments = segments;
+        segments = new Segment[oldSegments.length * 2];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new Segment(INITIAL_SEGMENT_CAPACITY);
+        }
+        isSegmentOwned = new boolean[segments.length];
+        Arrays.fill(isSegmentOwned, true);
+        isSpineShared = false;
+        for (Segment segment : oldSegments) {
+            for (int entry = 0; entry < segment.keys.length; entry++) {
+                if (segment.keys[entry] != FREE) {
+                    segments[segmentOf(segment.keys[entry])].insert(segment.keys[entry], segment.rows[entry]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes {@code row} from under {@code phone}. Does nothing if it is not there.
+     */
+    void remove(String phone, int row) {
+        final long key = toKey(phone);
+        if (key < 0) {
+            final List<Integer> phoneRows = overlongRows.get(phone);
+            if (phoneRows != null && phoneRows.contains(row)) {
+                final List<Integer> ownedRows = getOwnedOverlongRows().get(phone);
+                ownedRows.remove(Integer.valueOf(row));
+                if (ownedRows.isEmpty()) {
+                    overlongRows.remove(phone);
+                }
+            }
+            return;
+        }
+        final int segment = segmentOf(key);
+        if (segments[segment].findEntry(key, row) >= 0) {
+            final Segment owned = getOwnedSegment(segment);
+            owned.removeEntry(owned.findEntry(key, row));
+            entryCount--;
+        }
+    }
+
+    /**
+     * Returns the first row under {@code phone} accepted by {@code condition}, or -1 if there is none.
+     * Rows are tried in no particular order.
+     */
+    int findRow(String phone, IntPredicate condition) {
+        final long key = toKey(phone);
+        if (key < 0) {
+            for (int row : overlongRows.getOrDefault(phone, new ArrayList<>())) {
+                if (condition.test(row)) {
+                    return row;
+                }
+            }
+            return -1;
+        }
+        final Segment segment = segments[segmentOf(key)];
+        int entry = segment.firstEntry(hash(key));
+        while (segment.keys[entry] != FREE) {
+            if (segment.keys[entry] == key && condition.test(segment.rows[entry])) {
+                return segment.rows[entry];
+            }
+            entry = (entry + 1) & (segment.keys.length - 1);
+        }
+        return -1;
+    }
+
+    /**
+     * Returns all rows under {@code phone}, in ascending order.
+     */
+    int[] getRows(String phone) {
+        final long key = toKey(phone);
+        int[] found;
+        int foundCount = 0;
+        if (key < 0) {
+            final List<Integer> phoneRows = overlongRows.getOrDefault(phone, new ArrayList<>());
+            found = new int[phoneRows.size()];
+            for (int row : phoneRows) {
+                found[foundCount++] = row;
+            }
+        } else {
+            found = new int[1];
+            final Segment segment = segments[segmentOf(key)];
+            int entry = segment.firstEntry(hash(key));
+            while (segment.keys[entry] != FREE) {
+                if (segment.keys[entry] == key) {
+                    if (foundCount == found.length) {
+                        found = Arrays.copyOf(found, foundCount * 2);
+                    }
+                    found[foundCount++] = segment.rows[entry];
+                }
+                entry = (entry + 1) & (segment.keys.length - 1);
+            }
+        }
+        found = Arrays.copyOf(found, foundCount);
+        Arrays.sort(found);
+        return found;
+    }
+}
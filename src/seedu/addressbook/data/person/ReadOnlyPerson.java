@@ -16,8 +16,7 @@ public interface ReadOnlyPerson {
     Address getAddress();
 
     /**
-     * Returns a new TagSet that is a deep copy of the internal TagSet,
-     * changes on the returned set will not affect the person's internal tags.
+     * Returns the person's tags, ordered by tag name, as a set that cannot be modified.
      */
     Set<Tag> getTags();
 
@@ -0,0 +1,258 @@
+package seedu.addressbook.data.person;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import seedu.addressbook.data.tag.Tag;
+
+/**
+ * An index from each tag to the rows of the persons with that tag.
+ * The rows of each tag are kept as a set of bits, so that queries answer in row order by combining the bits.
+ *
+ * The bits are split into chunks of {@value #ROWS_PER_CHUNK} rows. Copies of the index share the rows of every tag
+ * until either index is modified, and then copy only the chunks they write to, as {@link UniquePersonList} does
+ * with its chunks of persons.
+ */
+class TagIndex {
+
+    private static final int[] NO_ROWS = new int[0];
+
+    private static final int CHUNK_SHIFT = 10;
+    private static final int ROWS_PER_CHUNK = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = ROWS_PER_CHUNK - 1;
+    private static final int WORDS_PER_CHUNK = ROWS_PER_CHUNK / Long.SIZE;
+
+    private static final long[][] NO_CHUNKS = new long[0][];
+
+    /**
+     * The rows with one tag. A chunk with no rows may be null.
+     */
+    private static class TaggedRows {
+        private long[][] chunks = NO_CHUNKS;
+
+        /** Whether each chunk is owned by this object, and can be modified without copying it first. */
+        private boolean[] isChunkOwned = new boolean[0];
+
+        private int count;
+
+        TaggedRows() {}
+
+        /**
+         * Creates a copy of {@code source} that copies the chunks of {@code source} before writing to them.
+         */
+        TaggedRows(TaggedRows source) {
+            chunks = source.chunks.clone();
+            isChunkOwned = new boolean[chunks.length];
+            count = source.count;
+        }
+
+        long[] getChunk(int chunk) {
+            return chunk < chunks.length ? chunks[chunk] : null;
+        }
+
+        private long[] getOwnedChunk(int chunk) {
+            if (chunk >= chunks.length) {
+                final int newLength = Math.max(chunk + 1, chunks.length * 2);
+                chunks = Arrays.copyOf(chunks, newLength);
+                isChunkOwned = Arrays.copyOf(isChunkOwned, newLength);
+            }
+            if (!isChunkOwned[chunk]) {
+                chunks[chunk] = chunks[chunk] == null ? new long[WORDS_PER_CHUNK] : chunks[chunk].clone();
+                isChunkOwned[chunk] = true;
+            }
+            return chunks[chunk];
+        }
+
+        void insert(int row) {
+            if (!contains(row)) {
+                getOwnedChunk(row >>> CHUNK_SHIFT)[(row & CHUNK_MASK) >>> 6] |= 1L << row;
+                count++;
+            }
+        }
+
+        void remove(int row) {
+            if (contains(row)) {
+                getOwnedChunk(row >>> CHUNK_SHIFT)[(row & CHUNK_MASK) >>> 6] &= ~(1L << row);
+                count--;
+            }
+        }
+
+        boolean contains(int row) {
+            final long[] chunk = getChunk(row >>> CHUNK_SHIFT);
+            return chunk != null && (chunk[(row & CHUNK_MASK) >>> 6] & (1L << row)) != 0;
+        }
+    }
+
+    private Map<Tag, TaggedRows> rowsByTag = new HashMap<>();
+
+    /** True if {@link #rowsByTag} may be shared with a copy of this index, and must be copied before it is modified. */
+    private boolean isMapShared;
+
+    /** The tags whose rows are owned by this index, and can be modified without copying them first. */
+    private Set<Tag> ownedTags = new HashSet<>();
+
+    /**
+     * Creates an empty index.
+     */
+    TagIndex() {}
+
+    /**
+     * Creates a copy of {@code source}, in O(1).
+     * The copy shares its storage with {@code source} until either index is modified, which then copies the map of
+     * tags, and only the chunks of rows it writes to.
+     */
+    TagIndex(TagIndex source) {
+        rowsByTag = source.rowsByTag;
+        isMapShared = true;
+        source.isMapShared = true;
+    }
+
+    /**
+     * Returns the rows of {@code tag}, first copying any storage shared with other indexes.
+     */
+    private TaggedRows getOwnedRows(Tag tag) {
+        if (isMapShared) {
+            rowsByTag = new HashMap<>(rowsByTag);
+            ownedTags = new HashSet<>();
+            isMapShared = false;
+        }
+        final TaggedRows taggedRows = rowsByTag.get(tag);
+        if (ownedTags.add(tag)) {
+            final TaggedRows owned = taggedRows == null ? new TaggedRows() : new TaggedRows(taggedRows);
+            rowsByTag.put(tag, owned);
+            return owned;
+        }
+        return taggedRows;
+    }
+
+    /**
+     * Adds {@code row} under each of {@code tags}.
+     */
+    void add(Collection<Tag> tags, int row) {
+        for (Tag tag : tags) {
+            getOwnedRows(tag).insert(row);
+        }
+    }
+
+    /**
+     * Removes {@code row} from under each of {@code tags}.
+     */
+    void remove(Collection<Tag> tags, int row) {
+        for (Tag tag : tags) {
+            final TaggedRows taggedRows = rowsByTag.get(tag);
+            if (taggedRows == null || !taggedRows.contains(row)) {
+                continue;
+            }
+            final TaggedRows owned = getOwnedRows(tag);
+            owned.remove(row);
+            if (owned.count == 0) {
+                rowsByTag.remove(tag);
+                ownedTags.remove(tag);
+            }
+        }
+    }
+
+    /**
+     * Returns the rows that have all of {@code tags}, in ascending order.
+     * Only the chunks in which the least used tag has rows are examined.
+     */
+    int[] getRowsWithAll(Collection<Tag> tags) {
+        if (tags.isEmpty()) {
+            return NO_ROWS;
+        }
+        final TaggedRows[] allTaggedRows = new TaggedRows[tags.size()];
+        int tagCount = 0;
+        for (Tag tag : tags) {
+            final TaggedRows taggedRows = rowsByTag.get(tag);
+            if (taggedRows == null) {
+                return NO_ROWS;
+            }
+            allTaggedRows[tagCount++] = taggedRows;
+        }
+        Arrays.sort(allTaggedRows, (first, second) -> Integer.compare(first.count, second.count));
+
+        final TaggedRows fewest = allTaggedRows[0];
+        final RowCollector found = new RowCollector(fewest.count);
+        final long[] words = new long[WORDS_PER_CHUNK];
+        for (int chunk = 0; chunk < fewest.chunks.length; chunk++) {
+            if (fewest.chunks[chunk] == null) {
+                continue;
+            }
+            System.arraycopy(fewest.chunks[chunk], 0, words, 0, WORDS_PER_CHUNK);
+            for (int i = 1; i < allTaggedRows.length; i++) {
+                final long[] other = allTaggedRows[i].getChunk(chunk);
+                for (int word = 0; word < WORDS_PER_CHUNK; word++) {
+                    words[word] &= other == null ? 0 : other[word];
+                }
+            }
+            found.addAll(chunk, words);
+        }
+        return found.toArray();
+    }
+
+    /**
+     * Returns the rows that have any of {@code tags}, in ascending order.
+     */
+    int[] getRowsWithAny(Collection<Tag> tags) {
+        final Set<TaggedRows> anyTaggedRows = new HashSet<>();
+        int chunkCount = 0;
+        int maxRowCount = 0;
+        for (Tag tag : tags) {
+            final TaggedRows taggedRows = rowsByTag.get(tag);
+            if (taggedRows != null && anyTaggedRows.add(taggedRows)) {
+                chunkCount = Math.max(chunkCount, taggedRows.chunks.length);
+                maxRowCount += taggedRows.count;
+            }
+        }
+
+        final RowCollector found = new RowCollector(maxRowCount);
+        final long[] words = new long[WORDS_PER_CHUNK];
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            Arrays.fill(words, 0);
+            for (TaggedRows taggedRows : anyTaggedRows) {
+                final long[] rows = taggedRows.getChunk(chunk);
+                if (rows != null) {
+                    for (int word = 0; word < WORDS_PER_CHUNK; word++) {
+                        words[word] |= rows[word];
+                    }
+                }
+            }
+            found.addAll(chunk, words);
+        }
+        return found.toArray();
+    }
+
+    /**
+     * Collects the rows of set bits, in ascending order.
+     */
+    private static class RowCollector {
+        private final int[] rows;
+        private int count;
+
+        /**
+         * @param capacity the most rows that will be collected.
+         */
+        RowCollector(int capacity) {
+            rows = new int[capacity];
+        }
+
+        /**
+         * Adds the rows of the bits set in {@code words}, which are the bits of {@code chunk}.
+         */
+        void addAll(int chunk, long[] words) {
+            for (int word = 0; word < WORDS_PER_CHUNK; word++) {
+                for (long bits = words[word]; bits != 0; bits &= bits - 1) {
+                    rows[count++] = (chunk << CHUNK_SHIFT) + word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                }
+            }
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(rows, count);
+        }
+    }
+}
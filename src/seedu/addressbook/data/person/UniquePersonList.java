@@ -1,22 +1,27 @@
 package seedu.addressbook.data.person;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
-import seedu.addressbook.common.Utils;
 import seedu.addressbook.data.exception.DuplicateDataException;
+import seedu.addressbook.data.tag.Tag;
 
 
 
 /**
  * A list of persons. Does not allow null elements or duplicates.
+ * Persons are kept in insertion order, and indexed by phone number and by tag so that duplicates, and persons with a
+ * given phone number or tags, are found without scanning the list. They are also indexed in name order, so that
+ * any part of that order can be read without sorting the list.
  *
- * @see Person#equals(Object)
- * @see Utils#elementsAreUnique(Collection)
+ * @see ReadOnlyPerson#isSamePerson(ReadOnlyPerson)
  */
 public class UniquePersonList implements Iterable<Person> {
 
@@ -35,7 +40,60 @@ public class UniquePersonList implements Iterable<Person> {
      */
     public static class PersonNotFoundException extends Exception {}
 
-    private final List<Person> internalList = new ArrayList<>();
+    /**
+     * Minimum number of removed persons before their slots are reclaimed, so that small lists are not compacted
+     * after every removal.
+     */
+    private static final int MIN_TOMBSTONES_BEFORE_COMPACTION = 16;
+
+    private static final int CHUNK_SHIFT = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private static final Person[][] NO_CHUNKS = new Person[0][];
+
+    /**
+     * The slots holding the persons in insertion order, split into chunks of {@link #CHUNK_SIZE} slots.
+     * A removed person leaves a null tombstone in its slot, so that removal does not shift the persons after it.
+     * Tombstones are reclaimed by {@link #compact()} once they make up half the list.
+     *
+     * Copies of the list share the chunks until either list is modified. The modified list then copies
+     * the array of chunks, and only the chunks it writes to, so a copy costs O(1) and a modification
+     * afterwards costs O(number of chunks) rather than O(number of persons).
+     */
+    private Person[][] chunks = NO_CHUNKS;
+
+    /** True if {@link #chunks} may be shared with a copy of this list, and must be copied before it is modified. */
+    private boolean isSpineShared;
+
+    /** Whether each chunk is owned by this list, and can be modified without copying it first. */
+    private boolean[] isChunkOwned = new boolean[0];
+
+    /** Number of persons in each chunk, not counting tombstones. Copied along with {@link #chunks}. */
+    private int[] chunkSizes = new int[0];
+
+    /** Number of slots in use, including tombstones. */
+    private int slotCount;
+
+    private int tombstoneCount;
+
+    /**
+     * The slot of every person in the list, keyed by phone number.
+     * Copies of the list share the index until either list is modified, as they do the chunks.
+     */
+    private PhoneIndex phoneIndex = new PhoneIndex();
+
+    /**
+     * The slots of the persons with each tag.
+     * Copies of the list share the index until either list is modified, as they do the chunks.
+     */
+    private TagIndex tagIndex = new TagIndex();
+
+    /**
+     * The persons in the list, in name order.
+     * Copies of the list share the nodes of the index, which are never modified.
+     */
+    private NameIndex nameIndex = new NameIndex();
 
     /**
      * Constructs empty person list.
@@ -46,11 +104,7 @@ public class UniquePersonList implements Iterable<Person> {
      * Constructs a person list with the given persons.
      */
     public UniquePersonList(Person... persons) throws DuplicatePersonException {
-        final List<Person> initialTags = Arrays.asList(persons);
-        if (!Utils.elementsAreUnique(initialTags)) {
-            throw new DuplicatePersonException();
-        }
-        internalList.addAll(initialTags);
+        this(Arrays.asList(persons));
     }
 
     /**
@@ -59,26 +113,84 @@ public class UniquePersonList implements Iterable<Person> {
      * @throws DuplicatePersonException if the {@code persons} contains duplicate persons
      */
     public UniquePersonList(Collection<Person> persons) throws DuplicatePersonException {
-        if (!Utils.elementsAreUnique(persons)) {
-            throw new DuplicatePersonException();
+        for (Person person : persons) {
+            add(person);
         }
-        internalList.addAll(persons);
     }
 
     /**
-     * Constructs a shallow copy of the list.
+     * Constructs a shallow copy of the list, in O(1).
+     * The copy shares its storage and its indexes with {@code source} until either list is modified.
      */
     public UniquePersonList(UniquePersonList source) {
-        internalList.addAll(source.internalList);
+        chunks = source.chunks;
+        chunkSizes = source.chunkSizes;
+        slotCount = source.slotCount;
+        tombstoneCount = source.tombstoneCount;
+        phoneIndex = new PhoneIndex(source.phoneIndex);
+        tagIndex = new TagIndex(source.tagIndex);
+        nameIndex = new NameIndex(source.nameIndex);
+        isSpineShared = true;
+        source.isSpineShared = true;
     }
 
     /**
      * Returns an unmodifiable java List view with elements cast as immutable {@link ReadOnlyPerson}s.
      * For use with other methods/libraries.
-     * Any changes to the internal list/elements are immediately visible in the returned list.
+     * Persons added to the list are immediately visible in the returned list, but the view must not be used
+     * once a person has been removed from the list. Creating the view takes constant time, as the list is not
+     * copied or compacted.
      */
     public List<ReadOnlyPerson> immutableListView() {
-        return Collections.unmodifiableList(internalList);
+        return new PersonListView();
+    }
+
+    /**
+     * A view of the persons in the list that skips tombstones instead of reclaiming them.
+     * The person at an index is found by skipping whole chunks by their sizes, and then the tombstones in one chunk,
+     * so it takes O(number of chunks + chunk size) time. Reading the persons in order continues from the previous
+     * one, so that takes O(1) time per person on average.
+     */
+    private class PersonListView extends AbstractList<ReadOnlyPerson> {
+        /** The index and slot of the person last read, or -1 if none has been read. */
+        private int lastIndex = -1;
+        private int lastSlot = -1;
+
+        @Override
+        public ReadOnlyPerson get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+            if (tombstoneCount == 0) {
+                return getSlot(index);
+            }
+
+            int slot;
+            int personsToSkip;
+            if (lastIndex >= 0 && index > lastIndex && index - lastIndex <= CHUNK_SIZE) {
+                slot = findSlotFrom(lastSlot + 1);
+                personsToSkip = index - lastIndex - 1;
+            } else {
+                int chunk = 0;
+                personsToSkip = index;
+                while (personsToSkip >= chunkSizes[chunk]) {
+                    personsToSkip -= chunkSizes[chunk];
+                    chunk++;
+                }
+                slot = findSlotFrom(chunk << CHUNK_SHIFT);
+            }
+            for (; personsToSkip > 0; personsToSkip--) {
+                slot = findSlotFrom(slot + 1);
+            }
+            lastIndex = index;
+            lastSlot = slot;
+            return getSlot(slot);
+        }
+
+        @Override
+        public int size() {
+            return UniquePersonList.this.size();
+        }
     }
 
 
@@ -88,12 +200,62 @@ public class UniquePersonList implements Iterable<Person> {
      * defines a weaker notion of equality.
      */
     public boolean contains(ReadOnlyPerson toCheck) {
-        for (Person p : internalList) {
-            if (p.isSamePerson(toCheck)) {
-                return true;
-            }
+        return findSlot(toCheck) >= 0;
+    }
+
+    /**
+     * Returns the persons in the list with the given phone number, in list order.
+     * The persons are found through the phone index, in time proportional to the number of persons found.
+     */
+    public List<ReadOnlyPerson> findByPhone(Phone phone) {
+        return getPersonsInSlots(phoneIndex.getRows(phone.value));
+    }
+
+    /**
+     * Returns the persons in the list that have all of the given tags, in list order.
+     * The persons are found through the tag index, and only the persons with the least used tag are examined.
+     */
+    public List<ReadOnlyPerson> findWithAllTags(Collection<Tag> tags) {
+        return getPersonsInSlots(tagIndex.getRowsWithAll(tags));
+    }
+
+    /**
+     * Returns the persons in the list that have any of the given tags, in list order.
+     * The persons are found through the tag index, in time proportional to the number of persons with the tags.
+     */
+    public List<ReadOnlyPerson> findWithAnyTag(Collection<Tag> tags) {
+        return getPersonsInSlots(tagIndex.getRowsWithAny(tags));
+    }
+
+    /**
+     * Returns up to {@code count} persons in the list in name order, starting from position {@code from} in that
+     * order, counting from 0. Names are ordered ignoring case, and persons with the same name by phone number.
+     * Takes O(log n + count) time, without sorting the list.
+     */
+    public List<ReadOnlyPerson> getSortedByName(int from, int count) {
+        return nameIndex.getRange(from, count);
+    }
+
+    /**
+     * Returns the persons in the list, in order, as a column-oriented store.
+     * The store holds the persons of each chunk of the list in a block of its own. Blocks of {@code previous} that
+     * were made from chunks this list still shares with it are reused, so after a few changes to a copy of a list,
+     * only the blocks of the chunks that changed are made again.
+     *
+     * @param previous a store whose blocks may be reused, or null.
+     */
+    public PersonStore toPersonStore(PersonStore previous) {
+        // the store keeps the chunks, so this list must copy them before writing to them, as a copy would
+        isSpineShared = true;
+        return PersonStore.ofChunks(chunks, (slotCount + CHUNK_MASK) >>> CHUNK_SHIFT, previous);
+    }
+
+    private List<ReadOnlyPerson> getPersonsInSlots(int[] slots) {
+        final List<ReadOnlyPerson> persons = new ArrayList<>(slots.length);
+        for (int slot : slots) {
+            persons.add(getSlot(slot));
         }
-        return false;
+        return persons;
     }
 
     /**
@@ -104,40 +266,248 @@ public class UniquePersonList implements Iterable<Person> {
      *    which defines a weaker notion of equality.
      */
     public void add(Person toAdd) throws DuplicatePersonException {
-        if (contains(toAdd)) {
+        if (findSlot(toAdd) >= 0) {
             throw new DuplicatePersonException();
         }
-        internalList.add(toAdd);
+        append(toAdd);
+    }
+
+    /**
+     * Adds all of {@code toAdd} to the end of the list, in order, or none of them.
+     * Each person is checked once against the list through the phone index, and once against the other persons
+     * being added through a hash set, so the check takes time proportional to the number of persons added.
+     *
+     * @throws DuplicatePersonException if any person to add is a duplicate of an existing person in the list,
+     *    or of another person to add. The list is then left unchanged.
+     */
+    public void addAll(Collection<Person> toAdd) throws DuplicatePersonException {
+        final Set<List<Object>> identities = new HashSet<>();
+        for (Person person : toAdd) {
+            // the same fields as ReadOnlyPerson#isSamePerson
+            final List<Object> identity = Arrays.asList(person.getName(), person.getPhone());
+            if (!identities.add(identity) || findSlot(person) >= 0) {
+                throw new DuplicatePersonException();
+            }
+        }
+        for (Person person : toAdd) {
+            append(person);
+        }
+    }
+
+    /**
+     * Adds {@code toAdd}, which must not be a duplicate of any person in the list, to the end of the list.
+     */
+    private void append(Person toAdd) {
+        phoneIndex.put(toAdd.getPhone().value, slotCount);
+        tagIndex.add(toAdd.getTags(), slotCount);
+        nameIndex.add(toAdd);
+        setSlot(slotCount, toAdd);
+        slotCount++;
     }
 
     /**
      * Removes the equivalent person from the list.
+     * The person is found through the phone index, and only that person is compared with {@code toRemove}.
      *
      * @throws PersonNotFoundException if no such person could be found in the list.
      */
     public void remove(ReadOnlyPerson toRemove) throws PersonNotFoundException {
-        final boolean personFoundAndDeleted = internalList.remove(toRemove);
-        if (!personFoundAndDeleted) {
+        final int slot = findSlot(toRemove);
+        if (slot < 0 || !toRemove.hasSameData(getSlot(slot))) {
+            throw new PersonNotFoundException();
+        }
+        phoneIndex.remove(toRemove.getPhone().value, slot);
+        tagIndex.remove(getSlot(slot).getTags(), slot);
+        nameIndex.remove(toRemove);
+        setSlot(slot, null);
+        tombstoneCount++;
+        if (tombstoneCount >= MIN_TOMBSTONES_BEFORE_COMPACTION && tombstoneCount * 2 >= slotCount) {
+            compact();
+        }
+    }
+
+    /**
+     * Replaces the tags of the equivalent person in the list with {@code replacement}.
+     * The person is replaced by a new person with the new tags, so copies of the list that share the person
+     * are not affected.
+     * The {@link ReadOnlyPerson#isSamePerson} method is used to find the person.
+     *
+     * @return the person as it was before its tags were replaced.
+     * @throws PersonNotFoundException if no such person could be found in the list.
+     */
+    public Person setTags(ReadOnlyPerson target, Set<Tag> replacement) throws PersonNotFoundException {
+        final int slot = findSlot(target);
+        if (slot < 0) {
             throw new PersonNotFoundException();
         }
+        final Person previous = getSlot(slot);
+        final Person updated = new Person(previous);
+        updated.setTags(replacement);
+        tagIndex.remove(previous.getTags(), slot);
+        tagIndex.add(updated.getTags(), slot);
+        nameIndex.remove(previous);
+        nameIndex.add(updated);
+        setSlot(slot, updated);
+        return previous;
+    }
+
+    private Person getSlot(int slot) {
+        return chunks[slot >>> CHUNK_SHIFT][slot & CHUNK_MASK];
+    }
+
+    /**
+     * Sets the person in {@code slot}, which must be in use or the next free slot,
+     * first copying any storage shared with other lists.
+     */
+    private void setSlot(int slot, Person person) {
+        final int chunk = slot >>> CHUNK_SHIFT;
+        if (isSpineShared) {
+            chunks = chunks.clone();
+            chunkSizes = chunkSizes.clone();
+            isChunkOwned = new boolean[chunks.length];
+            isSpineShared = false;
+        }
+        if (chunk == chunks.length) {
+            final int newLength = Math.max(1, chunks.length * 2);
+            chunks = Arrays.copyOf(chunks, newLength);
+            chunkSizes = Arrays.copyOf(chunkSizes, newLength);
+            isChunkOwned = Arrays.copyOf(isChunkOwned, newLength);
+        }
+        if (!isChunkOwned[chunk]) {
+            chunks[chunk] = chunks[chunk] == null ? new Person[CHUNK_SIZE] : chunks[chunk].clone();
+            isChunkOwned[chunk] = true;
+        }
+        final Person previous = chunks[chunk][slot & CHUNK_MASK];
+        chunkSizes[chunk] += (person == null ? 0 : 1) - (previous == null ? 0 : 1);
+        chunks[chunk][slot & CHUNK_MASK] = person;
+    }
+
+    /**
+     * Returns the slot of the person with the same identity as {@code person}, or -1 if there is none.
+     */
+    private int findSlot(ReadOnlyPerson person) {
+        final Name name = person.getName();
+        return phoneIndex.findRow(person.getPhone().value, slot -> getSlot(slot).getName().equals(name));
+    }
+
+    private PhoneIndex buildPhoneIndex() {
+        final PhoneIndex index = new PhoneIndex();
+        for (int slot = 0; slot < slotCount; slot++) {
+            final Person person = getSlot(slot);
+            if (person != null) {
+                index.put(person.getPhone().value, slot);
+            }
+        }
+        return index;
+    }
+
+    private TagIndex buildTagIndex() {
+        final TagIndex index = new TagIndex();
+        for (int slot = 0; slot < slotCount; slot++) {
+            final Person person = getSlot(slot);
+            if (person != null) {
+                index.add(person.getTags(), slot);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Reclaims the slots of removed persons, moving the remaining persons up without changing their order.
+     * The persons are moved into new chunks, leaving any chunks shared with other lists untouched.
+     */
+    private void compact() {
+        final Person[][] oldChunks = chunks;
+        final int oldSlotCount = slotCount;
+        chunks = NO_CHUNKS;
+        chunkSizes = new int[0];
+        isChunkOwned = new boolean[0];
+        isSpineShared = false;
+        slotCount = 0;
+        tombstoneCount = 0;
+        for (int slot = 0; slot < oldSlotCount; slot++) {
+            final Person person = oldChunks[slot >>> CHUNK_SHIFT][slot & CHUNK_MASK];
+            if (person == null) {
+                continue;
+            }
+            setSlot(slotCount, person);
+            slotCount++;
+        }
+        // the indexes are replaced, never cleared, as they may be shared with copies of the list
+        phoneIndex = buildPhoneIndex();
+        tagIndex = buildTagIndex();
+    }
+
+    /**
+     * Returns the number of persons in the list.
+     */
+    public int size() {
+        return slotCount - tombstoneCount;
     }
 
     /**
      * Clears all persons in list.
      */
     public void clear() {
-        internalList.clear();
+        chunks = NO_CHUNKS;
+        chunkSizes = new int[0];
+        isChunkOwned = new boolean[0];
+        isSpineShared = false;
+        slotCount = 0;
+        tombstoneCount = 0;
+        phoneIndex = new PhoneIndex();
+        tagIndex = new TagIndex();
+        nameIndex = new NameIndex();
     }
 
     @Override
     public Iterator<Person> iterator() {
-        return internalList.iterator();
+        return new Iterator<Person>() {
+            private int nextSlot = findSlotFrom(0);
+
+            @Override
+            public boolean hasNext() {
+                return nextSlot < slotCount;
+            }
+
+            @Override
+            public Person next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final Person next = getSlot(nextSlot);
+                nextSlot = findSlotFrom(nextSlot + 1);
+                return next;
+            }
+        };
+    }
+
+    /**
+     * Returns the first slot from {@code slot} onwards that holds a person, or {@link #slotCount} if none.
+     */
+    private int findSlotFrom(int slot) {
+        int current = slot;
+        while (current < slotCount && getSlot(current) == null) {
+            current++;
+        }
+        return current;
     }
 
     @Override
     public boolean equals(Object other) {
-        return other == this // short circuit if same object
-                || (other instanceof UniquePersonList // instanceof handles nulls
-                        && this.internalList.equals(((UniquePersonList) other).internalList));
+        if (other == this) { // short circuit if same object
+            return true;
+        }
+        if (!(other instanceof UniquePersonList) // instanceof handles nulls
+                || size() != ((UniquePersonList) other).size()) {
+            return false;
+        }
+        final Iterator<Person> otherPersons = ((UniquePersonList) other).iterator();
+        for (Person person : this) {
+            if (!person.equals(otherPersons.next())) {
+                return false;
+            }
+        }
+        return true;
     }
 }
@@ -1,16 +1,44 @@
 package seedu.addressbook.data.tag;
 
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import seedu.addressbook.common.FieldValidators;
 import seedu.addressbook.data.exception.IllegalValueException;
 
 /**
  * Represents a Tag in the address book.
  * Guarantees: immutable; name is valid as declared in {@link #isValidTagName(String)}
+ *
+ * Equal tags obtained through {@link #of(String)} or {@link #intern(Tag)} are the same instance, so that the many
+ * persons sharing a tag also share its memory. A canonical tag is forgotten once nothing else refers to it.
  */
 public class Tag {
 
     public static final String MESSAGE_TAG_CONSTRAINTS = "Tags names should be alphanumeric";
     public static final String TAG_VALIDATION_REGEX = "\\p{Alnum}+";
 
+    /** The canonical instance of each tag in use, keyed by tag name. */
+    private static final ConcurrentMap<String, CanonicalTagReference> canonicalTags = new ConcurrentHashMap<>();
+
+    /** Receives the references to canonical tags that are no longer in use. */
+    private static final ReferenceQueue<Tag> unusedTags = new ReferenceQueue<>();
+
+    /**
+     * A weak reference to a canonical tag, which remembers the tag name so that it can be removed from
+     * {@link #canonicalTags} once the tag is no longer in use.
+     */
+    private static class CanonicalTagReference extends WeakReference<Tag> {
+        private final String tagName;
+
+        CanonicalTagReference(Tag tag) {
+            super(tag, unusedTags);
+            this.tagName = tag.tagName;
+        }
+    }
+
     public final String tagName;
 
     /**
@@ -26,16 +54,62 @@ public class Tag {
         this.tagName = trimmedName;
     }
 
+    /**
+     * Returns the canonical tag with the given name, creating it if there is none.
+     *
+     * @throws IllegalValueException if the given tag name string is invalid.
+     */
+    public static Tag of(String name) throws IllegalValueException {
+        final Tag canonical = getCanonicalTag(name.trim());
+        return canonical != null ? canonical : intern(new Tag(name));
+    }
+
+    /**
+     * Returns the canonical tag equal to {@code tag}, making {@code tag} the canonical one if there is none.
+     */
+    public static Tag intern(Tag tag) {
+        removeUnusedTags();
+        while (true) {
+            final Tag canonical = getCanonicalTag(tag.tagName);
+            if (canonical != null) {
+                return canonical;
+            }
+            final CanonicalTagReference reference = new CanonicalTagReference(tag);
+            final CanonicalTagReference previous = canonicalTags.putIfAbsent(tag.tagName, reference);
+            if (previous == null) {
+                return tag;
+            }
+            final Tag previousTag = previous.get();
+            if (previousTag != null) {
+                return previousTag;
+            }
+            // the previous canonical tag is no longer in use, but its reference has not been removed yet
+            canonicalTags.remove(tag.tagName, previous);
+        }
+    }
+
+    private static Tag getCanonicalTag(String tagName) {
+        final CanonicalTagReference reference = canonicalTags.get(tagName);
+        return reference == null ? null : reference.get();
+    }
+
+    private static void removeUnusedTags() {
+        CanonicalTagReference unused;
+        while ((unused = (CanonicalTagReference) unusedTags.poll()) != null) {
+            canonicalTags.remove(unused.tagName, unused);
+        }
+    }
+
     /**
      * Returns true if a given string is a valid tag name.
      */
     public static boolean isValidTagName(String test) {
-        return test.matches(TAG_VALIDATION_REGEX);
+        return FieldValidators.isLettersOrDigits(test);
     }
 
     @Override
     public boolean equals(Object other) {
-        return other == this // short circuit if same object
+        return other == this // short circuit if same object, which is always the case for canonical tags
                 || (other instanceof Tag // instanceof handles nulls
                 && this.tagName.equals(((Tag) other).tagName)); // state check
     }
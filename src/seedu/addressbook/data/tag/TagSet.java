@@ -0,0 +1,95 @@
+package seedu.addressbook.data.tag;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable set of canonical tags, ordered by tag name.
+ * The tags are kept in a sorted array, so the set is compact and can be shared freely instead of being copied.
+ *
+ * @see Tag#intern(Tag)
+ */
+public final class TagSet extends AbstractSet<Tag> {
+
+    /** The set with no tags. */
+    public static final TagSet EMPTY = new TagSet(new Tag[0]);
+
+    private static final Comparator<Tag> TAG_NAME_ORDER = Comparator.comparing(tag -> tag.tagName);
+
+    /** The tags in the set, sorted by name, with no duplicates. */
+    private final Tag[] tags;
+
+    private TagSet(Tag[] tags) {
+        this.tags = tags;
+    }
+
+    /**
+     * Returns a set of the canonical instances of the given tags.
+     * Returns {@code tags} itself if it is already a {@code TagSet}.
+     */
+    public static TagSet of(Collection<Tag> tags) {
+        if (tags instanceof TagSet) {
+            return (TagSet) tags;
+        }
+        if (tags.isEmpty()) {
+            return EMPTY;
+        }
+
+        final Tag[] sortedTags = tags.toArray(new Tag[0]);
+        Arrays.sort(sortedTags, TAG_NAME_ORDER);
+        int distinctCount = 0;
+        for (Tag tag : sortedTags) {
+            if (distinctCount == 0 || !sortedTags[distinctCount - 1].equals(tag)) {
+                sortedTags[distinctCount++] = Tag.intern(tag);
+            }
+        }
+        return new TagSet(distinctCount == sortedTags.length ? sortedTags : Arrays.copyOf(sortedTags, distinctCount));
+    }
+
+    @Override
+    public boolean contains(Object other) {
+        return other instanceof Tag && Arrays.binarySearch(tags, (Tag) other, TAG_NAME_ORDER) >= 0;
+    }
+
+    @Override
+    public Iterator<Tag> iterator() {
+        return new Iterator<Tag>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < tags.length;
+            }
+
+            @Override
+            public Tag next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return tags[next++];
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return tags.length;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other instanceof TagSet) {
+            return Arrays.equals(tags, ((TagSet) other).tags);
+        }
+        return super.equals(other);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode();
+    }
+}
@@ -3,10 +3,12 @@ package seedu.addressbook.parser;
 import static seedu.addressbook.common.Messages.MESSAGE_INVALID_COMMAND_FORMAT;
 import static seedu.addressbook.common.Messages.MESSAGE_INVALID_PERSON_DISPLAYED_INDEX;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -17,12 +19,15 @@ import seedu.addressbook.commands.Command;
 import seedu.addressbook.commands.DeleteCommand;
 import seedu.addressbook.commands.ExitCommand;
 import seedu.addressbook.commands.FindCommand;
+import seedu.addressbook.commands.FindPhoneCommand;
+import seedu.addressbook.commands.FindTagCommand;
 import seedu.addressbook.commands.HelpCommand;
 import seedu.addressbook.commands.IncorrectCommand;
 import seedu.addressbook.commands.ListCommand;
 import seedu.addressbook.commands.ViewAllCommand;
 import seedu.addressbook.commands.ViewCommand;
 import seedu.addressbook.data.exception.IllegalValueException;
+import seedu.addressbook.data.person.Person;
 
 /**
  * Parses user input.
@@ -34,6 +39,13 @@ public class Parser {
     public static final Pattern KEYWORDS_ARGS_FORMAT =
             Pattern.compile("(?<keywords>\\S+(?:\\s+\\S+)*)"); // one or more keywords separated by whitespace
 
+    public static final Pattern TAGS_ARGS_FORMAT = // optional all/ prefix, then one or more tags
+            Pattern.compile("(?<isAllTagsRequired>(?:all/\\s+)?)(?<tags>[^/\\s]+(?:\\s+[^/\\s]+)*)");
+
+    public static final String LIST_SORT_BY_NAME_ARG = "sort/name";
+    public static final String LIST_PAGE_PREFIX = "page/";
+    public static final String LIST_SIZE_PREFIX = "size/";
+
     public static final Pattern PERSON_DATA_ARGS_FORMAT = // '/' forward slashes are reserved for delimiter prefixes
             Pattern.compile("(?<name>[^/]+)"
                     + " (?<isPhonePrivate>p?)p/(?<phone>[^/]+)"
@@ -85,8 +97,14 @@ public class Parser {
         case FindCommand.COMMAND_WORD:
             return prepareFind(arguments);
 
+        case FindPhoneCommand.COMMAND_WORD:
+            return prepareFindPhone(arguments);
+
+        case FindTagCommand.COMMAND_WORD:
+            return prepareFindTag(arguments);
+
         case ListCommand.COMMAND_WORD:
-            return new ListCommand();
+            return prepareList(arguments);
 
         case ViewCommand.COMMAND_WORD:
             return prepareView(arguments);
@@ -105,34 +123,40 @@ public class Parser {
 
     /**
      * Parses arguments in the context of the add person command.
+     * Several persons can be given, separated by {@link AddCommand#PERSON_SEPARATOR}.
      *
      * @param args full command args string
      * @return the prepared command
      */
     private Command prepareAdd(String args) {
-        final Matcher matcher = PERSON_DATA_ARGS_FORMAT.matcher(args.trim());
-        // Validate arg string format
-        if (!matcher.matches()) {
-            return new IncorrectCommand(String.format(MESSAGE_INVALID_COMMAND_FORMAT, AddCommand.MESSAGE_USAGE));
-        }
-        try {
-            return new AddCommand(
-                    matcher.group("name"),
-
-                    matcher.group("phone"),
-                    isPrivatePrefixPresent(matcher.group("isPhonePrivate")),
-
-                    matcher.group("email"),
-                    isPrivatePrefixPresent(matcher.group("isEmailPrivate")),
-
-                    matcher.group("address"),
-                    isPrivatePrefixPresent(matcher.group("isAddressPrivate")),
-
-                    getTagsFromArgs(matcher.group("tagArguments"))
-            );
-        } catch (IllegalValueException ive) {
-            return new IncorrectCommand(ive.getMessage());
+        final String[] personArgs = args.trim().split(Pattern.quote(AddCommand.PERSON_SEPARATOR), -1);
+        final List<Person> persons = new ArrayList<>(personArgs.length);
+        for (String personArg : personArgs) {
+            final Matcher matcher = PERSON_DATA_ARGS_FORMAT.matcher(personArg.trim());
+            // Validate arg string format
+            if (!matcher.matches()) {
+                return new IncorrectCommand(String.format(MESSAGE_INVALID_COMMAND_FORMAT, AddCommand.MESSAGE_USAGE));
+            }
+            try {
+                persons.add(AddCommand.toPerson(
+                        matcher.group("name"),
+
+                        matcher.group("phone"),
+                        isPrivatePrefixPresent(matcher.group("isPhonePrivate")),
+
+                        matcher.group("email"),
+                        isPrivatePrefixPresent(matcher.group("isEmailPrivate")),
+
+                        matcher.group("address"),
+                        isPrivatePrefixPresent(matcher.group("isAddressPrivate")),
+
+                        getTagsFromArgs(matcher.group("tagArguments"))
+                ));
+            } catch (IllegalValueException ive) {
+                return new IncorrectCommand(ive.getMessage());
+            }
         }
+        return persons.size() == 1 ? new AddCommand(persons.get(0)) : new AddCommand(persons);
     }
 
     /**
@@ -157,6 +181,63 @@ public class Parser {
     }
 
 
+    /**
+     * Parses arguments in the context of the list command.
+     * The arguments are optional, and can be given in any order.
+     *
+     * @param args full command args string
+     * @return the prepared command
+     */
+    private Command prepareList(String args) {
+        final String trimmedArgs = args.trim();
+        if (trimmedArgs.isEmpty()) {
+            return new ListCommand();
+        }
+
+        boolean isSortedByName = false;
+        Integer pageNumber = null;
+        Integer pageSize = null;
+        try {
+            for (String argument : trimmedArgs.split("\\s+")) {
+                if (argument.equals(LIST_SORT_BY_NAME_ARG) && !isSortedByName) {
+                    isSortedByName = true;
+                } else if (argument.startsWith(LIST_PAGE_PREFIX) && pageNumber == null) {
+                    pageNumber = parsePositiveInt(argument.substring(LIST_PAGE_PREFIX.length()));
+                } else if (argument.startsWith(LIST_SIZE_PREFIX) && pageSize == null) {
+                    pageSize = parsePositiveInt(argument.substring(LIST_SIZE_PREFIX.length()));
+                } else {
+                    throw new ParseException("Unknown or repeated list argument: " + argument);
+                }
+            }
+        } catch (ParseException pe) {
+            return new IncorrectCommand(String.format(MESSAGE_INVALID_COMMAND_FORMAT, ListCommand.MESSAGE_USAGE));
+        }
+
+        if (pageNumber == null && pageSize == null) {
+            return new ListCommand(isSortedByName);
+        }
+        return new ListCommand(isSortedByName,
+                pageNumber == null ? 1 : pageNumber,
+                pageSize == null ? ListCommand.DEFAULT_PAGE_SIZE : pageSize);
+    }
+
+    /**
+     * Parses {@code number} as an integer that is at least 1.
+     *
+     * @throws ParseException if {@code number} is not a positive integer.
+     */
+    private static int parsePositiveInt(String number) throws ParseException {
+        try {
+            final int parsed = Integer.parseInt(number);
+            if (parsed < 1) {
+                throw new ParseException("Not a positive integer: " + number);
+            }
+            return parsed;
+        } catch (NumberFormatException nfe) {
+            throw new ParseException("Not a positive integer: " + number);
+        }
+    }
+
     /**
      * Parses arguments in the context of the delete person command.
      *
@@ -248,5 +329,42 @@ public class Parser {
         return new FindCommand(keywordSet);
     }
 
+    /**
+     * Parses arguments in the context of the find by phone command.
+     *
+     * @param args full command args string
+     * @return the prepared command
+     */
+    private Command prepareFindPhone(String args) {
+        try {
+            return new FindPhoneCommand(args.trim());
+        } catch (IllegalValueException ive) {
+            return new IncorrectCommand(String.format(MESSAGE_INVALID_COMMAND_FORMAT,
+                    FindPhoneCommand.MESSAGE_USAGE));
+        }
+    }
+
+    /**
+     * Parses arguments in the context of the find by tag command.
+     *
+     * @param args full command args string
+     * @return the prepared command
+     */
+    private Command prepareFindTag(String args) {
+        final Matcher matcher = TAGS_ARGS_FORMAT.matcher(args.trim());
+        if (!matcher.matches()) {
+            return new IncorrectCommand(String.format(MESSAGE_INVALID_COMMAND_FORMAT,
+                    FindTagCommand.MESSAGE_USAGE));
+        }
+
+        // tags delimited by whitespace
+        final String[] tagNames = matcher.group("tags").split("\\s+");
+        try {
+            return new FindTagCommand(new HashSet<>(Arrays.asList(tagNames)),
+                    !matcher.group("isAllTagsRequired").isEmpty());
+        } catch (IllegalValueException ive) {
+            return new IncorrectCommand(ive.getMessage());
+        }
+    }
 
 }
@@ -0,0 +1,145 @@
+package seedu.addressbook.storage;
+
+import static seedu.addressbook.storage.AddressBookBinaryEncoder.ADDRESS_PRIVATE_FLAG;
+import static seedu.addressbook.storage.AddressBookBinaryEncoder.EMAIL_PRIVATE_FLAG;
+import static seedu.addressbook.storage.AddressBookBinaryEncoder.FORMAT_VERSION;
+import static seedu.addressbook.storage.AddressBookBinaryEncoder.MAGIC;
+import static seedu.addressbook.storage.AddressBookBinaryEncoder.PHONE_PRIVATE_FLAG;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.exception.IllegalValueException;
+import seedu.addressbook.data.person.Address;
+import seedu.addressbook.data.person.Email;
+import seedu.addressbook.data.person.Name;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.person.Phone;
+import seedu.addressbook.data.person.UniquePersonList;
+import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.storage.StorageFile.StorageOperationException;
+
+/**
+ * Decodes data in the binary storage format into an {@code AddressBook} object.
+ *
+ * @see AddressBookBinaryEncoder for a description of the format
+ */
+public class AddressBookBinaryDecoder {
+
+    private static final String MESSAGE_INVALID_FORMAT = "Storage file is not in the binary address book format";
+    private static final String MESSAGE_INVALID_PERSON = "Person %1$d of the storage file is invalid: %2$s";
+
+    private final DataInputStream in;
+
+    /** Reused buffer for the bytes of the string being decoded. */
+    private byte[] stringBytes = new byte[64];
+
+    private AddressBookBinaryDecoder(InputStream in) {
+        this.in = new DataInputStream(in);
+    }
+
+    /**
+     * Decodes the binary data read from {@code in} into an {@code AddressBook} containing the decoded persons.
+     *
+     * @throws IOException if there were errors reading from {@code in}.
+     * @throws StorageOperationException if the data is not in the binary format or contains invalid values.
+     */
+    public static AddressBook decodeAddressBook(InputStream in) throws IOException, StorageOperationException {
+        try {
+            return new AddressBookBinaryDecoder(in).decodeAddressBook();
+        } catch (EOFException eofe) {
+            throw new StorageOperationException(MESSAGE_INVALID_FORMAT);
+        }
+    }
+
+    private AddressBook decodeAddressBook() throws IOException, StorageOperationException {
+        decodeHeader();
+
+        final Tag[] tagDictionary = new Tag[readCount()];
+        for (int i = 0; i < tagDictionary.length; i++) {
+            try {
+                tagDictionary[i] = Tag.of(readString());
+            } catch (IllegalValueException ive) {
+                throw new StorageOperationException(MESSAGE_INVALID_FORMAT);
+            }
+        }
+
+        final UniquePersonList decodedPersons = new UniquePersonList();
+        final int personCount = readCount();
+        for (int i = 0; i < personCount; i++) {
+            try {
+                decodedPersons.add(decodePerson(tagDictionary));
+            } catch (IllegalValueException ive) {
+                throw new StorageOperationException(String.format(MESSAGE_INVALID_PERSON, i + 1, ive.getMessage()));
+            }
+        }
+        return new AddressBook(decodedPersons);
+    }
+
+    private void decodeHeader() throws IOException, StorageOperationException {
+        final byte[] magic = new byte[MAGIC.length];
+        in.readFully(magic);
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (magic[i] != MAGIC[i]) {
+                throw new StorageOperationException(MESSAGE_INVALID_FORMAT);
+            }
+        }
+        if (in.readByte() != FORMAT_VERSION) {
+            throw new StorageOperationException("Unsupported binary address book format version");
+        }
+    }
+
+    private Person decodePerson(Tag[] tagDictionary)
+            throws IOException, IllegalValueException, StorageOperationException {
+        final int privacyFlags = in.readUnsignedByte();
+        final Name name = new Name(readString());
+        final Phone phone = new Phone(readString(), (privacyFlags & PHONE_PRIVATE_FLAG) != 0);
+        final Email email = new Email(readString(), (privacyFlags & EMAIL_PRIVATE_FLAG) != 0);
+        final Address address = new Address(readString(), (privacyFlags & ADDRESS_PRIVATE_FLAG) != 0);
+
+        final int tagCount = readCount();
+        final Set<Tag> tags = tagCount == 0 ? Collections.emptySet() : new HashSet<>();
+        for (int i = 0; i < tagCount; i++) {
+            final int tagId = readCount();
+            if (tagId >= tagDictionary.length) {
+                throw new StorageOperationException(MESSAGE_INVALID_FORMAT);
+            }
+            tags.add(tagDictionary[tagId]);
+        }
+        return new Person(name, phone, email, address, tags);
+    }
+
+    private String readString() throws IOException, StorageOperationException {
+        final int length = readCount();
+        if (stringBytes.length < length) {
+            stringBytes = new byte[Math.max(length, stringBytes.length * 2)];
+        }
+        in.readFully(stringBytes, 0, length);
+        return new String(stringBytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads a non-negative variable-length integer.
+     */
+    private int readCount() throws IOException, StorageOperationException {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            final int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (value < 0) {
+                    break;
+                }
+                return value;
+            }
+        }
+        throw new StorageOperationException(MESSAGE_INVALID_FORMAT);
+    }
+}
@@ -0,0 +1,101 @@
+package seedu.addressbook.storage;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.tag.Tag;
+
+/**
+ * Encodes the {@code AddressBook} object into the compact binary storage format.
+ *
+ * The format consists of:
+ * <ol>
+ *     <li>the {@link #MAGIC} bytes followed by the {@link #FORMAT_VERSION} byte,</li>
+ *     <li>the tag dictionary: the number of distinct tags, followed by the name of each tag,</li>
+ *     <li>the number of persons, followed by each person as a byte of privacy flags, the name, phone, email and
+ *     address, the number of tags, and the position of each tag in the tag dictionary.</li>
+ * </ol>
+ * Strings are stored as their UTF-8 byte length followed by the bytes. All numbers are stored as variable-length
+ * integers of 7 bits per byte, least significant group first, with the high bit set on all but the last byte.
+ */
+public class AddressBookBinaryEncoder {
+
+    static final byte[] MAGIC = {'A', 'B', 'B'};
+    static final byte FORMAT_VERSION = 1;
+
+    static final int PHONE_PRIVATE_FLAG = 1;
+    static final int EMAIL_PRIVATE_FLAG = 1 << 1;
+    static final int ADDRESS_PRIVATE_FLAG = 1 << 2;
+
+    /**
+     * Writes all the {@code Person} in {@code toSave} to {@code out} in the binary storage format.
+     */
+    public static void encodeAddressBook(AddressBook toSave, OutputStream out) throws IOException {
+        final DataOutputStream dataOut = new DataOutputStream(out);
+        dataOut.write(MAGIC);
+        dataOut.writeByte(FORMAT_VERSION);
+
+        final Map<Tag, Integer> tagIds = new LinkedHashMap<>();
+        for (Person person : toSave.getAllPersons()) {
+            for (Tag tag : person.getTags()) {
+                tagIds.putIfAbsent(tag, tagIds.size());
+            }
+        }
+        writeVarInt(dataOut, tagIds.size());
+        for (Tag tag : tagIds.keySet()) {
+            writeString(dataOut, tag.tagName);
+        }
+
+        writeVarInt(dataOut, toSave.size());
+        for (Person person : toSave.getAllPersons()) {
+            encodePerson(person, tagIds, dataOut);
+        }
+        dataOut.flush();
+    }
+
+    private static void encodePerson(Person person, Map<Tag, Integer> tagIds, DataOutputStream out)
+            throws IOException {
+        int privacyFlags = 0;
+        if (person.getPhone().isPrivate()) {
+            privacyFlags |= PHONE_PRIVATE_FLAG;
+        }
+        if (person.getEmail().isPrivate()) {
+            privacyFlags |= EMAIL_PRIVATE_FLAG;
+        }
+        if (person.getAddress().isPrivate()) {
+            privacyFlags |= ADDRESS_PRIVATE_FLAG;
+        }
+        out.writeByte(privacyFlags);
+
+        writeString(out, person.getName().fullName);
+        writeString(out, person.getPhone().value);
+        writeString(out, person.getEmail().value);
+        writeString(out, person.getAddress().value);
+
+        writeVarInt(out, person.getTags().size());
+        for (Tag tag : person.getTags()) {
+            writeVarInt(out, tagIds.get(tag));
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            out.writeByte((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        out.writeByte(remaining);
+    }
+}
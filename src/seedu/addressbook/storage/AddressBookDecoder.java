@@ -1,13 +1,16 @@
 package seedu.addressbook.storage;
 
-import static seedu.addressbook.parser.Parser.PERSON_DATA_ARGS_FORMAT;
-
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
-import java.util.regex.Matcher;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import seedu.addressbook.data.AddressBook;
 import seedu.addressbook.data.exception.IllegalValueException;
@@ -17,7 +20,9 @@ import seedu.addressbook.data.person.Name;
 import seedu.addressbook.data.person.Person;
 import seedu.addressbook.data.person.Phone;
 import seedu.addressbook.data.person.UniquePersonList;
+import seedu.addressbook.data.person.UniquePersonList.DuplicatePersonException;
 import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.data.tag.TagSet;
 import seedu.addressbook.storage.StorageFile.StorageOperationException;
 
 /**
@@ -25,6 +30,11 @@ import seedu.addressbook.storage.StorageFile.StorageOperationException;
  */
 public class AddressBookDecoder {
 
+    private static final String MESSAGE_INVALID_LINE = "Line %1$d of the storage file is invalid: %2$s";
+
+    /** Initial size of the buffer that encoded data is read into, a block at a time, before it is decoded. */
+    private static final int DECODING_BLOCK_SIZE = 1 << 23;
+
     /**
      * Decodes {@code encodedAddressBook} into an {@code AddressBook} containing the decoded persons.
      *
@@ -33,11 +43,282 @@ public class AddressBookDecoder {
      */
     public static AddressBook decodeAddressBook(List<String> encodedAddressBook)
             throws IllegalValueException, StorageOperationException {
-        final List<Person> decodedPersons = new ArrayList<>();
+        final UniquePersonList decodedPersons = new UniquePersonList();
         for (String encodedPerson : encodedAddressBook) {
             decodedPersons.add(decodePersonFromString(encodedPerson));
         }
-        return new AddressBook(new UniquePersonList(decodedPersons));
+        return new AddressBook(decodedPersons);
+    }
+
+    /**
+     * Decodes the lines read from {@code encodedAddressBook} into an {@code AddressBook} containing the decoded
+     * persons. Lines are read one at a time and each decoded person is added directly to the persons of the
+     * resulting {@code AddressBook}, so the encoded data is never held in memory as a whole.
+     *
+     * @throws IOException if there were errors reading from {@code encodedAddressBook}.
+     * @throws StorageOperationException if any line is in an invalid format or contains invalid values.
+     *     The message identifies the offending line.
+     */
+    public static AddressBook decodeAddressBook(BufferedReader encodedAddressBook)
+            throws IOException, StorageOperationException {
+        final UniquePersonList decodedPersons = new UniquePersonList();
+        long lineNumber = 1;
+        String encodedPerson;
+        while ((encodedPerson = encodedAddressBook.readLine()) != null) {
+            try {
+                decodedPersons.add(decodePersonFromString(encodedPerson));
+            } catch (IllegalValueException | StorageOperationException e) {
+                throw invalidLineException(lineNumber, e);
+            }
+            lineNumber++;
+        }
+        return new AddressBook(decodedPersons);
+    }
+
+    /**
+     * Decodes the UTF-8 encoded lines in {@code encodedAddressBook}, from its position to its limit, into an
+     * {@code AddressBook} containing the decoded persons. The data is split into {@code chunkCount} chunks on
+     * line boundaries, which are decoded concurrently in the common fork-join pool and then added to the
+     * {@code AddressBook} in their original order.
+     * As with {@link BufferedReader#readLine()}, a line ends with a line feed, a carriage return, or both.
+     *
+     * @throws StorageOperationException if any line is in an invalid format or contains invalid values.
+     *     The message identifies the first offending line.
+     */
+    public static AddressBook decodeAddressBook(ByteBuffer encodedAddressBook, int chunkCount)
+            throws StorageOperationException {
+        final UniquePersonList decodedPersons = new UniquePersonList();
+        decodeLines(encodedAddressBook, chunkCount, decodedPersons, 1);
+        return new AddressBook(decodedPersons);
+    }
+
+    /**
+     * Decodes the UTF-8 encoded lines read from {@code encodedAddressBook} into an {@code AddressBook} containing
+     * the decoded persons. The data is read into a heap buffer a block at a time, and the complete lines in each
+     * block are decoded as by {@link #decodeAddressBook(ByteBuffer, int)}, so only one block is held in memory.
+     *
+     * @throws IOException if there were errors reading from {@code encodedAddressBook}.
+     * @throws StorageOperationException if any line is in an invalid format or contains invalid values.
+     *     The message identifies the first offending line.
+     */
+    public static AddressBook decodeAddressBook(ReadableByteChannel encodedAddressBook, int chunkCount)
+            throws IOException, StorageOperationException {
+        return decodeAddressBook(encodedAddressBook, chunkCount, DECODING_BLOCK_SIZE);
+    }
+
+    /**
+     * @param blockSize initial size of the buffer the data is read into. The buffer grows if a line is longer.
+     */
+    static AddressBook decodeAddressBook(ReadableByteChannel encodedAddressBook, int chunkCount, int blockSize)
+            throws IOException, StorageOperationException {
+        final UniquePersonList decodedPersons = new UniquePersonList();
+        ByteBuffer block = ByteBuffer.allocate(blockSize);
+        long nextLineNumber = 1;
+        while (true) {
+            final boolean isEndOfData = !readUntilFull(encodedAddressBook, block);
+            block.flip();
+            final int linesEnd = isEndOfData ? block.limit() : findEndOfLastLine(block);
+            if (linesEnd == 0) {
+                // the block is full but holds part of a single line, so there is nothing to decode yet
+                block = ByteBuffer.allocate(block.capacity() * 2).put(block);
+                continue;
+            }
+
+            final ByteBuffer lines = block.duplicate();
+            lines.limit(linesEnd);
+            nextLineNumber += decodeLines(lines, chunkCount, decodedPersons, nextLineNumber);
+            if (isEndOfData) {
+                return new AddressBook(decodedPersons);
+            }
+            block.position(linesEnd);
+            block.compact();
+        }
+    }
+
+    /**
+     * Reads from {@code channel} until {@code buffer} is full.
+     *
+     * @return false if the end of the data was reached.
+     */
+    private static boolean readUntilFull(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the index just after the last line terminator in {@code buffer}, or 0 if there is none.
+     * A carriage return at the very end of the buffer is not counted, as a line feed could follow it.
+     */
+    private static int findEndOfLastLine(ByteBuffer buffer) {
+        final int last = buffer.limit() - 1;
+        if (last >= buffer.position() && buffer.get(last) == '\n') {
+            return buffer.limit();
+        }
+        for (int i = last - 1; i >= buffer.position(); i--) {
+            final byte b = buffer.get(i);
+            if (b == '\n' || b == '\r') {
+                // a carriage return here cannot be followed by a line feed, which would have been found first
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Decodes the lines between the position and limit of {@code buffer} in {@code chunkCount} chunks, and adds
+     * the decoded persons to {@code persons} in order.
+     *
+     * @param firstLineNumber number of the first line in {@code buffer}, used to identify any invalid line.
+     * @return the number of lines decoded.
+     */
+    private static long decodeLines(ByteBuffer buffer, int chunkCount, UniquePersonList persons,
+            long firstLineNumber) throws StorageOperationException {
+        final List<DecodedChunk> chunks = splitIntoChunks(buffer, chunkCount);
+        ForkJoinPool.commonPool().invoke(new ChunkDecodingTask(chunks, 0, chunks.size()));
+
+        long chunkFirstLineNumber = firstLineNumber;
+        for (DecodedChunk chunk : chunks) {
+            for (int i = 0; i < chunk.decodedPersons.size(); i++) {
+                try {
+                    persons.add(chunk.decodedPersons.get(i));
+                } catch (DuplicatePersonException dpe) {
+                    throw invalidLineException(chunkFirstLineNumber + i, dpe);
+                }
+            }
+            if (chunk.error != null) {
+                // the invalid line is the one just after the last successfully decoded line
+                throw invalidLineException(chunkFirstLineNumber + chunk.decodedPersons.size(), chunk.error);
+            }
+            chunkFirstLineNumber += chunk.lineCount;
+        }
+        return chunkFirstLineNumber - firstLineNumber;
+    }
+
+    /**
+     * Splits the bytes between the position and limit of {@code buffer} into at most {@code chunkCount}
+     * non-empty chunks of roughly equal size. Every chunk except the last ends just after a line terminator.
+     */
+    private static List<DecodedChunk> splitIntoChunks(ByteBuffer buffer, int chunkCount) {
+        final List<DecodedChunk> chunks = new ArrayList<>();
+        final int start = buffer.position();
+        final int limit = buffer.limit();
+        int chunkStart = start;
+        for (int i = 1; i <= chunkCount && chunkStart < limit; i++) {
+            final int targetEnd = start + (int) ((long) (limit - start) * i / chunkCount);
+            final int chunkEnd = (i == chunkCount) ? limit : findNextLineStart(buffer, Math.max(chunkStart, targetEnd));
+            if (chunkEnd > chunkStart) {
+                chunks.add(new DecodedChunk(buffer, chunkStart, chunkEnd));
+            }
+            chunkStart = chunkEnd;
+        }
+        return chunks;
+    }
+
+    /**
+     * Returns the index just after the first line terminator at or after {@code index}, or the limit of
+     * {@code buffer} if there is no such line terminator.
+     */
+    private static int findNextLineStart(ByteBuffer buffer, int index) {
+        for (int i = index; i < buffer.limit(); i++) {
+            final byte b = buffer.get(i);
+            if (b == '\n') {
+                return i + 1;
+            }
+            if (b == '\r') {
+                return (i + 1 < buffer.limit() && buffer.get(i + 1) == '\n') ? i + 2 : i + 1;
+            }
+        }
+        return buffer.limit();
+    }
+
+    private static StorageOperationException invalidLineException(long lineNumber, Exception cause) {
+        return new StorageOperationException(String.format(MESSAGE_INVALID_LINE, lineNumber, cause.getMessage()));
+    }
+
+    /**
+     * Decodes the chunks in the given range, splitting the range in half until a single chunk remains.
+     */
+    private static class ChunkDecodingTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<DecodedChunk> chunks;
+        private final int from;
+        private final int to;
+
+        ChunkDecodingTask(List<DecodedChunk> chunks, int from, int to) {
+            this.chunks = chunks;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                for (int i = from; i < to; i++) {
+                    chunks.get(i).decode();
+                }
+                return;
+            }
+            final int mid = (from + to) >>> 1;
+            invokeAll(new ChunkDecodingTask(chunks, from, mid), new ChunkDecodingTask(chunks, mid, to));
+        }
+    }
+
+    /**
+     * A range of lines in the encoded data, together with the result of decoding them.
+     * Decoding stops at the first invalid line, which is recorded in {@link #error}.
+     */
+    private static class DecodedChunk {
+        private final ByteBuffer buffer;
+        private final int start;
+        private final int end;
+
+        private final List<Person> decodedPersons = new ArrayList<>();
+        private int lineCount;
+        private Exception error;
+
+        DecodedChunk(ByteBuffer buffer, int start, int end) {
+            this.buffer = buffer;
+            this.start = start;
+            this.end = end;
+        }
+
+        void decode() {
+            // a separate view of the buffer, so that concurrently decoded chunks do not share a position
+            final ByteBuffer reader = buffer.duplicate();
+            byte[] lineBytes = new byte[256];
+            int lineStart = start;
+            while (lineStart < end) {
+                int lineEnd = lineStart;
+                while (lineEnd < end && buffer.get(lineEnd) != '\n' && buffer.get(lineEnd) != '\r') {
+                    lineEnd++;
+                }
+                final boolean isCrLf = lineEnd + 1 < end && buffer.get(lineEnd) == '\r'
+                        && buffer.get(lineEnd + 1) == '\n';
+                final int nextLineStart = isCrLf ? lineEnd + 2 : lineEnd + 1;
+
+                final int lineLength = lineEnd - lineStart;
+                if (lineBytes.length < lineLength) {
+                    lineBytes = new byte[Math.max(lineLength, lineBytes.length * 2)];
+                }
+                reader.position(lineStart);
+                reader.get(lineBytes, 0, lineLength);
+                lineCount++;
+
+                try {
+                    decodedPersons.add(
+                            decodePersonFromString(new String(lineBytes, 0, lineLength, StandardCharsets.UTF_8)));
+                } catch (IllegalValueException | StorageOperationException e) {
+                    error = e;
+                    return;
+                }
+                lineStart = nextLineStart;
+            }
+        }
     }
 
     /**
@@ -46,45 +327,35 @@ public class AddressBookDecoder {
      * @throws IllegalValueException if any field in the {@code encodedPerson} is invalid.
      * @throws StorageOperationException if {@code encodedPerson} is in an invalid format.
      */
-    private static Person decodePersonFromString(String encodedPerson)
+    static Person decodePersonFromString(String encodedPerson)
             throws IllegalValueException, StorageOperationException {
-        final Matcher matcher = PERSON_DATA_ARGS_FORMAT.matcher(encodedPerson);
-        if (!matcher.matches()) {
+        final EncodedPersonScanner scanner = new EncodedPersonScanner(encodedPerson);
+        if (!scanner.matches()) {
             throw new StorageOperationException("Encoded person in invalid format. Unable to decode.");
         }
 
         return new Person(
-                new Name(matcher.group("name")),
-                new Phone(matcher.group("phone"), isPrivatePrefixPresent(matcher.group("isPhonePrivate"))),
-                new Email(matcher.group("email"), isPrivatePrefixPresent(matcher.group("isEmailPrivate"))),
-                new Address(matcher.group("address"), isPrivatePrefixPresent(matcher.group("isAddressPrivate"))),
-                getTagsFromEncodedPerson(matcher.group("tagArguments"))
+                new Name(scanner.getName()),
+                new Phone(scanner.getPhone(), scanner.isPhonePrivate()),
+                new Email(scanner.getEmail(), scanner.isEmailPrivate()),
+                new Address(scanner.getAddress(), scanner.isAddressPrivate()),
+                getTagsFromEncodedPerson(scanner)
         );
     }
 
     /**
-     * Returns true if {@code matchedPrefix} is equal to the private prefix for contact details.
-     */
-    private static boolean isPrivatePrefixPresent(String matchedPrefix) {
-        return "p".equals(matchedPrefix);
-    }
-
-    /**
-     * Extracts the {@code Tag}s from the {@code tagArguments} string.
+     * Extracts the {@code Tag}s found by {@code scanner}.
      * Merges duplicate tag strings.
      */
-    private static Set<Tag> getTagsFromEncodedPerson(String tagArguments) throws IllegalValueException {
-        if (tagArguments.isEmpty()) {
-            return Collections.emptySet();
+    private static Set<Tag> getTagsFromEncodedPerson(EncodedPersonScanner scanner) throws IllegalValueException {
+        if (scanner.getTagCount() == 0) {
+            return TagSet.EMPTY;
         }
 
-        // replace first delimiter prefix, then split
-        final String[] tagStrings = tagArguments.replaceFirst(" t/", "").split(" t/");
-        final Set<Tag> tagSet = new HashSet<>();
-        for (String tagName : tagStrings) {
-            tagSet.add(new Tag(tagName));
+        final Tag[] tags = new Tag[scanner.getTagCount()];
+        for (int i = 0; i < tags.length; i++) {
+            tags[i] = Tag.of(scanner.getTag(i));
         }
-
-        return tagSet;
+        return TagSet.of(Arrays.asList(tags));
     }
 }
@@ -0,0 +1,181 @@
+package seedu.addressbook.storage;
+
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.storage.StorageFile.PendingSave;
+import seedu.addressbook.storage.StorageFile.StorageOperationException;
+
+/**
+ * Saves address books to a storage file on a background thread, so that callers do not wait for the disk.
+ * Saves submitted while an earlier save is being written are coalesced into a single save of the latest data.
+ *
+ * The address book passed to {@link #submit(AddressBook)} may continue to be modified once the call returns,
+ * but only by the thread that submits it.
+ *
+ * A failed write is reported once, to the next call to {@link #submit} or {@link #flush}. The storage then
+ * rewrites all of its data on the next save, so that the changes in the failed write are not lost, and
+ * {@link #stop()} makes one last attempt to rewrite the data if no save has done so.
+ */
+public class BackgroundSaver {
+
+    private final StorageFile storage;
+    private final Thread saverThread;
+
+    /** Saves submitted but not yet taken by the saver thread, merged into one, or null if there are none. */
+    private PendingSave pendingSave;
+    private boolean isWriting;
+    private boolean isStopped;
+
+    /** The address book submitted last. Only used by the thread that submits address books. */
+    private AddressBook lastSubmitted;
+
+    /** The first failure of a background write not yet reported to a caller, or null if there is none. */
+    private StorageOperationException failure;
+
+    /**
+     * Creates a saver for {@code storage} and starts its background thread.
+     * {@code storage} must not be saved to other than through this saver until {@link #stop()} returns.
+     */
+    public BackgroundSaver(StorageFile storage) {
+        this.storage = storage;
+        saverThread = new Thread(this::writeUntilStopped, "storage-saver");
+        saverThread.setDaemon(true);
+        saverThread.start();
+    }
+
+    /**
+     * Schedules {@code addressBook} to be saved in its current state, and returns without waiting for the save.
+     *
+     * @throws StorageOperationException if an earlier save failed. The save is still scheduled, and rewrites all
+     *     of the data, including the changes of the failed save.
+     */
+    public void submit(AddressBook addressBook) throws StorageOperationException {
+        final StorageOperationException earlierFailure = takeFailure();
+        // a failed write makes the storage prepare a full rewrite, so this must be prepared after taking the failure
+        final PendingSave toWrite = storage.prepareSave(addressBook);
+        lastSubmitted = addressBook;
+        synchronized (this) {
+            pendingSave = pendingSave == null ? toWrite : pendingSave.mergeWith(toWrite);
+            notifyAll();
+        }
+        if (earlierFailure != null) {
+            throw earlierFailure;
+        }
+    }
+
+    /**
+     * Waits until every save submitted so far has been written, or until one of them fails.
+     *
+     * @throws StorageOperationException if a save failed since the last failure was reported.
+     */
+    public synchronized void flush() throws StorageOperationException {
+        boolean isInterrupted = false;
+        while ((pendingSave != null || isWriting) && failure == null) {
+            try {
+                wait();
+            } catch (InterruptedException ie) {
+                isInterrupted = true;
+            }
+        }
+        if (isInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+        final StorageOperationException unreportedFailure = takeFailure();
+        if (unreportedFailure != null) {
+            throw unreportedFailure;
+        }
+    }
+
+    /**
+     * Writes every save submitted so far, and then stops the background thread.
+     * If a write has failed and all of the data has not been rewritten since, the address book submitted last is
+     * then rewritten in full, in its current state, as one last attempt to save it.
+     * Must be called on the thread that submits address books.
+     *
+     * @throws StorageOperationException if that last attempt fails, or else if a save failed since the last failure
+     *     was reported.
+     */
+    public void stop() throws StorageOperationException {
+        synchronized (this) {
+            isStopped = true;
+            notifyAll();
+        }
+        joinSaverThread();
+        final StorageOperationException unreportedFailure = takeFailure();
+        if (storage.hasFailedWrite() && lastSubmitted != null) {
+            storage.write(storage.prepareSave(lastSubmitted));
+            return;
+        }
+        if (unreportedFailure != null) {
+            throw unreportedFailure;
+        }
+    }
+
+    /**
+     * Waits for the background thread to write the remaining saves and end.
+     */
+    private void joinSaverThread() {
+        boolean isInterrupted = false;
+        while (saverThread.isAlive()) {
+            try {
+                saverThread.join();
+            } catch (InterruptedException ie) {
+                isInterrupted = true;
+            }
+        }
+        if (isInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns true if a save has failed since the last failure was reported.
+     */
+    synchronized boolean hasUnreportedFailure() {
+        return failure != null;
+    }
+
+    /**
+     * Returns the failure not yet reported, or null if there is none, and counts it as reported.
+     */
+    private synchronized StorageOperationException takeFailure() {
+        final StorageOperationException taken = failure;
+        failure = null;
+        return taken;
+    }
+
+    private void writeUntilStopped() {
+        PendingSave toWrite;
+        while ((toWrite = takePendingSave()) != null) {
+            StorageOperationException writeFailure = null;
+            try {
+                storage.write(toWrite);
+            } catch (StorageOperationException soe) {
+                writeFailure = soe;
+            }
+            synchronized (this) {
+                isWriting = false;
+                if (failure == null) {
+                    failure = writeFailure;
+                }
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Waits for a save to be submitted and takes it, or returns null once the saver is stopped.
+     */
+    private synchronized PendingSave takePendingSave() {
+        while (pendingSave == null && !isStopped) {
+            try {
+                wait();
+            } catch (InterruptedException ie) {
+                // keep waiting; the thread only ends when the saver is stopped
+            }
+        }
+        final PendingSave taken = pendingSave;
+        pendingSave = null;
+        isWriting = taken != null;
+        return taken;
+    }
+}
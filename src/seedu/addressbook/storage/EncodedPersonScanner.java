@@ -0,0 +1,192 @@
+package seedu.addressbook.storage;
+
+import java.util.Arrays;
+
+import seedu.addressbook.parser.Parser;
+
+/**
+ * Splits an encoded person into its fields in a single pass over its characters, without using regular expressions.
+ * Accepts exactly the strings matched by {@link Parser#PERSON_DATA_ARGS_FORMAT}, and finds the same fields.
+ *
+ * Since '/' can only appear in the prefixes of the encoded fields, each field is found by locating the next '/'
+ * and checking that the characters just before it form the expected prefix.
+ */
+class EncodedPersonScanner {
+
+    private static final char PHONE_PREFIX = 'p';
+    private static final char EMAIL_PREFIX = 'e';
+    private static final char ADDRESS_PREFIX = 'a';
+    private static final char TAG_PREFIX = 't';
+    private static final char PRIVATE_MARKER = 'p';
+    private static final char PREFIX_DELIMITER = '/';
+
+    private final String encodedPerson;
+    private final boolean isMatch;
+
+    private int nameEnd;
+    private int phoneStart;
+    private int phoneEnd;
+    private int emailStart;
+    private int emailEnd;
+    private int addressStart;
+    private int addressEnd;
+    private boolean isPhonePrivate;
+    private boolean isEmailPrivate;
+    private boolean isAddressPrivate;
+
+    /** Start and end indices of each tag name, stored as consecutive pairs. */
+    private int[] tagBounds = new int[8];
+    private int tagCount;
+
+    EncodedPersonScanner(String encodedPerson) {
+        this.encodedPerson = encodedPerson;
+        this.isMatch = scan();
+    }
+
+    /**
+     * Returns true if the encoded person is in the valid format.
+     * The fields of the encoded person can only be retrieved if it is.
+     */
+    boolean matches() {
+        return isMatch;
+    }
+
+    String getName() {
+        return encodedPerson.substring(0, nameEnd);
+    }
+
+    String getPhone() {
+        return encodedPerson.substring(phoneStart, phoneEnd);
+    }
+
+    boolean isPhonePrivate() {
+        return isPhonePrivate;
+    }
+
+    String getEmail() {
+        return encodedPerson.substring(emailStart, emailEnd);
+    }
+
+    boolean isEmailPrivate() {
+        return isEmailPrivate;
+    }
+
+    String getAddress() {
+        return encodedPerson.substring(addressStart, addressEnd);
+    }
+
+    boolean isAddressPrivate() {
+        return isAddressPrivate;
+    }
+
+    int getTagCount() {
+        return tagCount;
+    }
+
+    String getTag(int index) {
+        return encodedPerson.substring(tagBounds[2 * index], tagBounds[2 * index + 1]);
+    }
+
+    private boolean scan() {
+        final int phoneDelimiter = encodedPerson.indexOf(PREFIX_DELIMITER);
+        nameEnd = findFieldEnd(0, phoneDelimiter, PHONE_PREFIX);
+        if (nameEnd < 0) {
+            return false;
+        }
+        isPhonePrivate = isPrivatePrefix(nameEnd, phoneDelimiter);
+
+        phoneStart = phoneDelimiter + 1;
+        final int emailDelimiter = encodedPerson.indexOf(PREFIX_DELIMITER, phoneStart);
+        phoneEnd = findFieldEnd(phoneStart, emailDelimiter, EMAIL_PREFIX);
+        if (phoneEnd < 0) {
+            return false;
+        }
+        isEmailPrivate = isPrivatePrefix(phoneEnd, emailDelimiter);
+
+        emailStart = emailDelimiter + 1;
+        final int addressDelimiter = encodedPerson.indexOf(PREFIX_DELIMITER, emailStart);
+        emailEnd = findFieldEnd(emailStart, addressDelimiter, ADDRESS_PREFIX);
+        if (emailEnd < 0) {
+            return false;
+        }
+        isAddressPrivate = isPrivatePrefix(emailEnd, addressDelimiter);
+
+        addressStart = addressDelimiter + 1;
+        int nextDelimiter = encodedPerson.indexOf(PREFIX_DELIMITER, addressStart);
+        if (nextDelimiter < 0) {
+            addressEnd = encodedPerson.length();
+            return addressEnd > addressStart;
+        }
+        addressEnd = findTagFieldEnd(addressStart, nextDelimiter);
+        if (addressEnd < 0) {
+            return false;
+        }
+
+        int tagStart = nextDelimiter + 1;
+        while ((nextDelimiter = encodedPerson.indexOf(PREFIX_DELIMITER, tagStart)) >= 0) {
+            final int tagEnd = findTagFieldEnd(tagStart, nextDelimiter);
+            if (tagEnd < 0) {
+                return false;
+            }
+            addTagBounds(tagStart, tagEnd);
+            tagStart = nextDelimiter + 1;
+        }
+        if (tagStart == encodedPerson.length()) {
+            return false;
+        }
+        addTagBounds(tagStart, encodedPerson.length());
+        return true;
+    }
+
+    /**
+     * Returns the end index of a non-empty field starting at {@code fieldStart} that is followed by
+     * the prefix {@code " [p]" + prefix} of the next field, whose delimiter is at {@code delimiter}.
+     * Returns -1 if there is no such field.
+     */
+    private int findFieldEnd(int fieldStart, int delimiter, char prefix) {
+        if (delimiter < 0 || delimiter - 1 < fieldStart || encodedPerson.charAt(delimiter - 1) != prefix) {
+            return -1;
+        }
+        final int prefixStart = delimiter - 1;
+        if (prefixStart - 1 > fieldStart && encodedPerson.charAt(prefixStart - 1) == ' ') {
+            return prefixStart - 1;
+        }
+        if (prefixStart - 2 > fieldStart
+                && encodedPerson.charAt(prefixStart - 1) == PRIVATE_MARKER
+                && encodedPerson.charAt(prefixStart - 2) == ' ') {
+            return prefixStart - 2;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns true if the prefix between the end of a field at {@code fieldEnd} and
+     * the delimiter of the next field at {@code delimiter} marks the next field as private.
+     */
+    private static boolean isPrivatePrefix(int fieldEnd, int delimiter) {
+        return delimiter - fieldEnd == 3;
+    }
+
+    /**
+     * Returns the end index of a non-empty field starting at {@code fieldStart} that is followed by
+     * the tag prefix {@code " t"}, whose delimiter is at {@code delimiter}. Returns -1 if there is no such field.
+     */
+    private int findTagFieldEnd(int fieldStart, int delimiter) {
+        final int fieldEnd = delimiter - 2;
+        if (fieldEnd <= fieldStart
+                || encodedPerson.charAt(delimiter - 1) != TAG_PREFIX
+                || encodedPerson.charAt(fieldEnd) != ' ') {
+            return -1;
+        }
+        return fieldEnd;
+    }
+
+    private void addTagBounds(int tagStart, int tagEnd) {
+        if (2 * tagCount == tagBounds.length) {
+            tagBounds = Arrays.copyOf(tagBounds, tagBounds.length * 2);
+        }
+        tagBounds[2 * tagCount] = tagStart;
+        tagBounds[2 * tagCount + 1] = tagEnd;
+        tagCount++;
+    }
+}
@@ -0,0 +1,220 @@
+package seedu.addressbook.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.exception.IllegalValueException;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.person.ReadOnlyPerson;
+import seedu.addressbook.data.person.UniquePersonList;
+import seedu.addressbook.data.person.UniquePersonList.PersonNotFoundException;
+import seedu.addressbook.storage.StorageFile.StorageOperationException;
+
+/**
+ * Represents the append-only journal of changes made to an address book since its storage file was last written.
+ * Each line of the journal records a single change, using the same person encoding as the storage file.
+ */
+public class JournalFile implements AddressBook.ChangeListener {
+
+    /** Suffix appended to the storage file path to obtain the path of its journal. */
+    public static final String JOURNAL_FILE_SUFFIX = ".journal";
+
+    private static final String ADD_ENTRY_PREFIX = "add ";
+    private static final String DELETE_ENTRY_PREFIX = "delete ";
+    private static final String CLEAR_ENTRY = "clear";
+
+    /** Number of bytes read at a time when looking for the end of the last complete entry. */
+    private static final int TRUNCATION_SCAN_BLOCK_SIZE = 4096;
+
+    /** A platform independent line separator. */
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    public final Path path;
+
+    /** Entries recorded since the last {@link #takePendingEntries()}, in the order the changes were made. */
+    private final List<String> pendingEntries = new ArrayList<>();
+
+    /** Number of entries taken since the journal was last restarted, including those replayed from the file. */
+    private int entryCount;
+
+    public JournalFile(Path path) {
+        this.path = path;
+    }
+
+    @Override
+    public void personAdded(Person added) {
+        pendingEntries.add(ADD_ENTRY_PREFIX + AddressBookEncoder.encodePersonToString(added));
+    }
+
+    @Override
+    public void personRemoved(ReadOnlyPerson removed) {
+        pendingEntries.add(DELETE_ENTRY_PREFIX + AddressBookEncoder.encodePersonToString(removed));
+    }
+
+    @Override
+    public void cleared() {
+        pendingEntries.add(CLEAR_ENTRY);
+    }
+
+    /**
+     * Returns the entries recorded since the last call, and counts them as part of the journal.
+     * The entries must then be written with {@link #append(List, boolean)}, unless the journal is restarted.
+     */
+    public List<String> takePendingEntries() {
+        final List<String> entries = new ArrayList<>(pendingEntries);
+        pendingEntries.clear();
+        entryCount += entries.size();
+        return entries;
+    }
+
+    /**
+     * Appends {@code entries} to the journal file.
+     *
+     * @param isSyncRequired if true, the appended entries are forced onto the storage device before returning.
+     */
+    public void append(List<String> entries, boolean isSyncRequired) throws IOException {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        final StringBuilder lines = new StringBuilder();
+        for (String entry : entries) {
+            lines.append(entry).append(LINE_SEPARATOR);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            final ByteBuffer bytes = StandardCharsets.UTF_8.encode(lines.toString());
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            if (isSyncRequired) {
+                channel.force(false);
+            }
+        }
+    }
+
+    /**
+     * Applies every entry in the journal file, in order, to {@code persons}.
+     * Does nothing if the journal file does not exist.
+     *
+     * The journal may be left behind, or cut short, by a crash during a save. So that it can still be replayed:
+     * <ul>
+     *     <li>an incomplete last entry, not followed by a line separator, is ignored, and cut off the file so that
+     *     the next entry appended starts on a line of its own.</li>
+     *     <li>adding a person who already exists, and deleting a person who does not exist, are ignored.
+     *     This makes replaying a journal onto a storage file that already includes its changes harmless.</li>
+     * </ul>
+     *
+     * @throws IllegalValueException if any of the fields in any journal entry is invalid.
+     * @throws StorageOperationException if an entry is in an invalid format.
+     */
+    public void replay(UniquePersonList persons)
+            throws IOException, IllegalValueException, StorageOperationException {
+        entryCount = 0;
+        if (!Files.exists(path)) {
+            return;
+        }
+
+        final List<String> entries = Files.readAllLines(path);
+        if (!entries.isEmpty() && truncateIncompleteLastEntry()) {
+            entries.remove(entries.size() - 1);
+        }
+        for (String entry : entries) {
+            applyEntry(persons, entry);
+            entryCount++;
+        }
+    }
+
+    /**
+     * Cuts the journal file off after its last line feed, removing any incomplete last entry.
+     *
+     * @return true if there was an incomplete last entry.
+     */
+    private boolean truncateIncompleteLastEntry() throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final long completeLength = findEndOfLastLine(channel);
+            if (completeLength == channel.size()) {
+                return false;
+            }
+            channel.truncate(completeLength);
+            channel.force(false);
+            return true;
+        }
+    }
+
+    /**
+     * Returns the position just after the last line feed in {@code channel}, or 0 if there is none.
+     */
+    private static long findEndOfLastLine(FileChannel channel) throws IOException {
+        final ByteBuffer block = ByteBuffer.allocate(TRUNCATION_SCAN_BLOCK_SIZE);
+        long blockEnd = channel.size();
+        while (blockEnd > 0) {
+            final long blockStart = Math.max(0, blockEnd - block.capacity());
+            block.clear();
+            block.limit((int) (blockEnd - blockStart));
+            while (block.hasRemaining()) {
+                if (channel.read(block, blockStart + block.position()) < 0) {
+                    throw new IOException("Journal file shrank while being read: " + blockEnd);
+                }
+            }
+            for (int i = block.limit() - 1; i >= 0; i--) {
+                if (block.get(i) == '\n') {
+                    return blockStart + i + 1;
+                }
+            }
+            blockEnd = blockStart;
+        }
+        return 0;
+    }
+
+    private static void applyEntry(UniquePersonList persons, String entry)
+            throws IllegalValueException, StorageOperationException {
+        if (entry.startsWith(ADD_ENTRY_PREFIX)) {
+            final Person toAdd = AddressBookDecoder.decodePersonFromString(entry.substring(ADD_ENTRY_PREFIX.length()));
+            if (!persons.contains(toAdd)) {
+                persons.add(toAdd);
+            }
+        } else if (entry.startsWith(DELETE_ENTRY_PREFIX)) {
+            try {
+                persons.remove(
+                        AddressBookDecoder.decodePersonFromString(entry.substring(DELETE_ENTRY_PREFIX.length())));
+            } catch (PersonNotFoundException pnfe) {
+                // already deleted in the storage file
+            }
+        } else if (entry.equals(CLEAR_ENTRY)) {
+            persons.clear();
+        } else {
+            throw new StorageOperationException("Journal entry in invalid format. Unable to decode.");
+        }
+    }
+
+    /**
+     * Discards all pending entries and starts counting entries from zero.
+     * Used once the storage file is about to be rewritten to include every change recorded so far.
+     */
+    public void restart() {
+        pendingEntries.clear();
+        entryCount = 0;
+    }
+
+    /**
+     * Deletes the journal file. Used once the storage file has been rewritten to include every journalled change.
+     */
+    public void delete() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    /**
+     * Returns the number of entries in the journal, including those taken but not yet appended to the file.
+     */
+    public int getEntryCount() {
+        return entryCount;
+    }
+}
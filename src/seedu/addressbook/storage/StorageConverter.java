@@ -0,0 +1,46 @@
+package seedu.addressbook.storage;
+
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.storage.StorageFile.InvalidStorageFilePathException;
+import seedu.addressbook.storage.StorageFile.StorageOperationException;
+
+/**
+ * Converts a storage file between the text and binary storage formats.
+ * The format of each file is determined by its file extension.
+ */
+public class StorageConverter {
+
+    public static final String MESSAGE_USAGE = "Conversion command format: "
+            + "java seedu.addressbook.storage.StorageConverter SOURCE_FILE_PATH TARGET_FILE_PATH";
+    public static final String MESSAGE_SUCCESS = "Converted %1$d persons from %2$s to %3$s";
+
+    public static void main(String... args) {
+        if (args.length != 2) {
+            System.out.println(MESSAGE_USAGE);
+            System.exit(1);
+        }
+
+        try {
+            final int convertedCount = convert(args[0], args[1]);
+            System.out.println(String.format(MESSAGE_SUCCESS, convertedCount, args[0], args[1]));
+        } catch (InvalidStorageFilePathException | StorageOperationException e) {
+            System.out.println(e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Writes the address book stored at {@code sourceFilePath}, including any changes in its journal,
+     * to {@code targetFilePath}, replacing any address book stored there.
+     *
+     * @return the number of persons converted
+     * @throws InvalidStorageFilePathException if either file path is invalid
+     * @throws StorageOperationException if there were errors reading the source or writing the target
+     */
+    public static int convert(String sourceFilePath, String targetFilePath)
+            throws InvalidStorageFilePathException, StorageOperationException {
+        final AddressBook addressBook = new StorageFile(sourceFilePath, true).load();
+        new StorageFile(targetFilePath, true).save(addressBook);
+        return addressBook.size();
+    }
+}
@@ -1,14 +1,32 @@
 package seedu.addressbook.storage;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryNotEmptyException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
 import seedu.addressbook.data.AddressBook;
 import seedu.addressbook.data.exception.IllegalValueException;
+import seedu.addressbook.data.person.UniquePersonList;
 
 /**
  * Represents the file used to store address book data.
@@ -18,6 +36,41 @@ public class StorageFile {
     /** Default file path used if the user doesn't provide the file name. */
     public static final String DEFAULT_STORAGE_FILEPATH = "addressbook.txt";
 
+    /** File extension of storage files in the human-readable text format. */
+    public static final String TEXT_FILE_EXTENSION = ".txt";
+
+    /** File extension of storage files in the compact binary format. */
+    public static final String BINARY_FILE_EXTENSION = ".abb";
+
+    /** Message for an address book stored both in a single file and in shards, at the given paths. */
+    static final String MESSAGE_STORED_IN_BOTH_LAYOUTS =
+            "The address book is stored both in %1$s and in shards in %2$s; remove the one that is out of date";
+
+    /** Message for a save refused because it writes only part of the data after an earlier write failed. */
+    static final String MESSAGE_PARTIAL_SAVE_AFTER_FAILED_WRITE =
+            "Not saved to %1$s, as an earlier save failed; all of the data will be rewritten on the next save";
+
+    /** Suffix of the temporary file the storage file is written to, before it replaces the storage file. */
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    /**
+     * Minimum number of journal entries before the journal is folded back into the storage file.
+     * Above this, the journal is folded once it holds more entries than there are persons in the address book,
+     * so that the cost of rewriting the storage file is spread over at least as many saves.
+     */
+    private static final int MIN_JOURNAL_ENTRIES_BEFORE_COMPACTION = 1000;
+
+    /**
+     * Text storage files at least this large are read in large blocks, each decoded in parallel if more than one
+     * processor is available. Smaller files are decoded a line at a time, as splitting them costs more than it saves.
+     * The files are read rather than mapped into memory, as a mapped file cannot be replaced on some platforms
+     * until the mapping is garbage collected.
+     */
+    private static final long MIN_FILE_SIZE_FOR_BLOCK_DECODING = 1 << 20;
+
+    /** Number of chunks each processor decodes when decoding in parallel, so that uneven chunks even out. */
+    private static final int PARALLEL_DECODING_CHUNKS_PER_PROCESSOR = 4;
+
     /* Note: Note the use of nested classes below.
      * More info https://docs.oracle.com/javase/tutorial/java/javaOO/nested.html
      */
@@ -41,8 +94,116 @@ public class StorageFile {
         }
     }
 
+    /**
+     * The data needed to bring the storage file up to date with an address book, as captured by
+     * {@link #prepareSave(AddressBook)}. It does not change with the address book, so it can be written later.
+     */
+    public static class PendingSave {
+        /** Data to rewrite the storage file with, or null if the storage file is not rewritten. */
+        private final AddressBook snapshot;
+        /** Journal entries to append, after the storage file is rewritten if there is a snapshot. */
+        private final List<String> journalEntries;
+        /** Data to rewrite each shard with, null for shards not rewritten, or null if the storage is not sharded. */
+        private final AddressBook[] shardSnapshots;
+        /** Files left over from an earlier layout of the storage, deleted after the data is written. */
+        private final List<Path> staleFiles;
+
+        private PendingSave(AddressBook snapshot, List<String> journalEntries, List<Path> staleFiles) {
+            this.snapshot = snapshot;
+            this.journalEntries = journalEntries;
+            this.shardSnapshots = null;
+            this.staleFiles = staleFiles;
+        }
+
+        private PendingSave(AddressBook[] shardSnapshots, List<Path> staleFiles) {
+            this.snapshot = null;
+            this.journalEntries = new ArrayList<>();
+            this.shardSnapshots = shardSnapshots;
+            this.staleFiles = staleFiles;
+        }
+
+        /**
+         * Returns a single save with the same effect as writing this save followed by {@code later}.
+         */
+        public PendingSave mergeWith(PendingSave later) {
+            final List<Path> mergedStaleFiles = new ArrayList<>(staleFiles);
+            mergedStaleFiles.addAll(later.staleFiles);
+            if (later.snapshot != null) {
+                return new PendingSave(later.snapshot, later.journalEntries, mergedStaleFiles);
+            }
+            if (shardSnapshots != null && later.shardSnapshots != null) {
+                final AddressBook[] mergedSnapshots = shardSnapshots.clone();
+                for (int i = 0; i < mergedSnapshots.length; i++) {
+                    if (later.shardSnapshots[i] != null) {
+                        mergedSnapshots[i] = later.shardSnapshots[i];
+                    }
+                }
+                return new PendingSave(mergedSnapshots, mergedStaleFiles);
+            }
+            final List<String> mergedEntries = new ArrayList<>(journalEntries);
+            mergedEntries.addAll(later.journalEntries);
+            return new PendingSave(snapshot, mergedEntries, mergedStaleFiles);
+        }
+
+        /**
+         * Returns true if this save rewrites all of the data, rather than only what changed since an earlier save.
+         */
+        private boolean isFullRewrite() {
+            if (snapshot != null) {
+                return true;
+            }
+            return shardSnapshots != null && !Arrays.asList(shardSnapshots).contains(null);
+        }
+
+        /**
+         * Returns true if this save writes no data at all.
+         */
+        private boolean isEmpty() {
+            return snapshot == null && journalEntries.isEmpty()
+                    && (shardSnapshots == null || Arrays.stream(shardSnapshots).allMatch(Objects::isNull));
+        }
+    }
+
     public final Path path;
 
+    /** True if the storage file is in the binary format, false if it is in the text format. */
+    private final boolean isBinary;
+
+    /** Journal of changes not yet written to the storage file, or null if journalling is disabled. */
+    private final JournalFile journal;
+
+    /** Path of the journal of the storage file, which may be left over from an earlier run even if not in use. */
+    private final Path journalPath;
+
+    /** Shards the address book is split across, or null if it is stored in a single file. */
+    private final StorageShards shards;
+
+    /** Directory the shards of the address book are stored in, if it is sharded now or was sharded before. */
+    private final Path shardDirectory;
+
+    /**
+     * Files left over from storing the address book in a different layout, deleted once the storage file is next
+     * rewritten. Only used if the storage is not sharded.
+     */
+    private final List<Path> staleFiles = new ArrayList<>();
+
+    /** The address book whose changes are being recorded in {@link #journal}. */
+    private AddressBook journalledAddressBook;
+
+    /** Set when a write fails, so that the next save rewrites the storage file instead of relying on the journal. */
+    private volatile boolean isRewriteRequired;
+
+    /**
+     * Set when a write fails, and cleared once all of the data has been rewritten. Saves that write only part of the
+     * data are refused in between, as they would be written after a gap left by the failed write.
+     */
+    private volatile boolean isWriteFailed;
+
+    private SyncPolicy syncPolicy = SyncPolicy.NEVER;
+    private int savesSinceLastSync;
+    private long lastSyncTimeMillis = System.currentTimeMillis();
+    private long syncCount;
+
     /**
      * @throws InvalidStorageFilePathException if the default path is invalid
      */
@@ -54,60 +215,429 @@ public class StorageFile {
      * @throws InvalidStorageFilePathException if the given file path is invalid
      */
     public StorageFile(String filePath) throws InvalidStorageFilePathException {
+        this(filePath, false);
+    }
+
+    /**
+     * @param isJournalEnabled if true, saving an address book previously loaded or saved by this storage only
+     *     appends its changes to a journal next to the storage file, instead of rewriting the whole file.
+     * @throws InvalidStorageFilePathException if the given file path is invalid
+     */
+    public StorageFile(String filePath, boolean isJournalEnabled) throws InvalidStorageFilePathException {
+        this(filePath, isJournalEnabled, 1);
+    }
+
+    /**
+     * @param shardCount if more than 1, the address book is split across this many shard files in a directory
+     *     next to the storage file, in the format given by the extension of {@code filePath}, instead of being
+     *     stored in the storage file itself. Journalling is not used for sharded storage, as saving only rewrites
+     *     the shards that have changed.
+     * @throws InvalidStorageFilePathException if the given file path is invalid, or {@code shardCount} is not
+     *     positive.
+     */
+    public StorageFile(String filePath, boolean isJournalEnabled, int shardCount)
+            throws InvalidStorageFilePathException {
         path = Paths.get(filePath);
         if (!isValidPath(path)) {
-            throw new InvalidStorageFilePathException("Storage file should end with '.txt'");
+            throw new InvalidStorageFilePathException(
+                    "Storage file should end with '" + TEXT_FILE_EXTENSION + "' or '" + BINARY_FILE_EXTENSION + "'");
         }
+        isBinary = filePath.endsWith(BINARY_FILE_EXTENSION);
+        shardDirectory = Paths.get(filePath + StorageShards.SHARD_DIRECTORY_SUFFIX);
+        shards = shardCount == 1 ? null : new StorageShards(shardDirectory, getFileExtension(), shardCount);
+        journalPath = Paths.get(filePath + JournalFile.JOURNAL_FILE_SUFFIX);
+        journal = isJournalEnabled && shards == null ? new JournalFile(journalPath) : null;
+    }
+
+    private String getFileExtension() {
+        return isBinary ? BINARY_FILE_EXTENSION : TEXT_FILE_EXTENSION;
     }
 
     /**
      * Returns true if the given path is acceptable as a storage file.
-     * The file path is considered acceptable if it ends with '.txt'
+     * The file path is considered acceptable if it ends with '.txt' or '.abb'
      */
     private static boolean isValidPath(Path filePath) {
-        return filePath.toString().endsWith(".txt");
+        return filePath.toString().endsWith(TEXT_FILE_EXTENSION) || filePath.toString().endsWith(BINARY_FILE_EXTENSION);
+    }
+
+    /**
+     * Sets the policy deciding which saves are forced onto the storage device. The default is {@link SyncPolicy#NEVER}.
+     */
+    public void setSyncPolicy(SyncPolicy syncPolicy) {
+        this.syncPolicy = syncPolicy;
+    }
+
+    /**
+     * Returns the number of saves that have been forced onto the storage device.
+     */
+    public long getSyncCount() {
+        return syncCount;
     }
 
     /**
      * Saves the {@code addressBook} data to the storage file.
+     * If journalling is enabled and {@code addressBook} is the one last loaded or saved by this storage,
+     * only the changes made since the previous save are appended to the journal.
+     * Likewise, if the storage is sharded, only the shards containing changes made since the previous save
+     * are rewritten.
+     *
+     * The storage file is never modified in place: it is written to a temporary file which then replaces it,
+     * so a crash while saving leaves either the old or the new data. Whether the data is also forced onto
+     * the storage device before returning is decided by the {@link SyncPolicy} of this storage.
      *
      * @throws StorageOperationException if there were errors converting and/or storing data to file.
      */
     public void save(AddressBook addressBook) throws StorageOperationException {
+        write(prepareSave(addressBook, false));
+    }
+
+    /**
+     * Captures what needs to be written to save {@code addressBook} in its current state, without doing any I/O.
+     * The returned save is unaffected by later changes to {@code addressBook}, and can be written with
+     * {@link #write(PendingSave)} on another thread while {@code addressBook} continues to be modified.
+     *
+     * This must be called on the thread that modifies {@code addressBook}, and the returned saves must be written
+     * in the order they were prepared.
+     */
+    public PendingSave prepareSave(AddressBook addressBook) {
+        return prepareSave(addressBook, true);
+    }
+
+    /**
+     * @param isSnapshotRequired if false, {@code addressBook} itself is written instead of a copy, so it must not be
+     *     modified until the returned save has been written.
+     */
+    private PendingSave prepareSave(AddressBook addressBook, boolean isSnapshotRequired) {
+        Objects.requireNonNull(addressBook);
+        if (shards != null) {
+            final AddressBook[] shardSnapshots = shards.prepareShardSnapshots(addressBook);
+            return new PendingSave(shardSnapshots, shards.takeStaleFiles(shardSnapshots));
+        }
+        if (journal != null && addressBook == journalledAddressBook && !isRewriteRequired) {
+            final List<String> entries = journal.takePendingEntries();
+            if (journal.getEntryCount() <= Math.max(MIN_JOURNAL_ENTRIES_BEFORE_COMPACTION, addressBook.size())) {
+                return new PendingSave(null, entries, new ArrayList<>());
+            }
+        }
+
+        isRewriteRequired = false;
+        final AddressBook snapshot = isSnapshotRequired ? new AddressBook(addressBook.getAllPersons()) : addressBook;
+        if (journal != null) {
+            journal.restart();
+            addressBook.setChangeListener(journal);
+            journalledAddressBook = addressBook;
+        }
+        return new PendingSave(snapshot, new ArrayList<>(), takeStaleFiles());
+    }
+
+    private List<Path> takeStaleFiles() {
+        synchronized (staleFiles) {
+            final List<Path> taken = new ArrayList<>(staleFiles);
+            staleFiles.clear();
+            return taken;
+        }
+    }
+
+    /**
+     * Writes {@code pendingSave} to the storage file and journal.
+     * Calls must not overlap, and must be made in the order the saves were prepared.
+     *
+     * Once a write has failed, saves prepared before the failure that write only part of the data, such as the
+     * journal entries of later changes, are refused until a save that rewrites all of the data has been written.
+     * Saves prepared after the failure rewrite all of the data.
+     *
+     * @throws StorageOperationException if there were errors converting and/or storing data to file,
+     *     or the save was refused.
+     */
+    public void write(PendingSave pendingSave) throws StorageOperationException {
+        if (isWriteFailed && !pendingSave.isFullRewrite() && !pendingSave.isEmpty()) {
+            throw new StorageOperationException(String.format(MESSAGE_PARTIAL_SAVE_AFTER_FAILED_WRITE, path));
+        }
+        final boolean isSyncRequired = syncPolicy.isSyncDue(savesSinceLastSync + 1,
+                System.currentTimeMillis() - lastSyncTimeMillis);
+
         try {
-            List<String> encodedAddressBook = AddressBookEncoder.encodeAddressBook(addressBook);
-            Files.write(path, encodedAddressBook);
+            if (pendingSave.shardSnapshots != null) {
+                shards.write(pendingSave.shardSnapshots, pendingSave.staleFiles, isSyncRequired);
+            }
+            if (pendingSave.snapshot != null) {
+                writeStorageFile(pendingSave.snapshot, isSyncRequired);
+                deleteJournal();
+                deleteStaleFiles(pendingSave.staleFiles);
+            }
+            appendToJournal(pendingSave.journalEntries, isSyncRequired);
+        } catch (StorageOperationException soe) {
+            isRewriteRequired = true;
+            isWriteFailed = true;
+            throw soe;
+        }
+        if (pendingSave.isFullRewrite()) {
+            isWriteFailed = false;
+        }
+
+        if (isSyncRequired) {
+            savesSinceLastSync = 0;
+            lastSyncTimeMillis = System.currentTimeMillis();
+            syncCount++;
+        } else {
+            savesSinceLastSync++;
+        }
+    }
+
+    /**
+     * Returns true if a write has failed, and all of the data has not been rewritten since.
+     */
+    boolean hasFailedWrite() {
+        return isWriteFailed;
+    }
+
+    private void appendToJournal(List<String> entries, boolean isSyncRequired) throws StorageOperationException {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.append(entries, isSyncRequired);
+        } catch (IOException ioe) {
+            throw new StorageOperationException("Error writing to file: " + journal.path);
+        }
+    }
+
+    /**
+     * Deletes the journal, which must already be reflected in the storage file.
+     */
+    private void deleteJournal() throws StorageOperationException {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.delete();
+        } catch (IOException ioe) {
+            throw new StorageOperationException("Error deleting file: " + journal.path);
+        }
+    }
+
+    /**
+     * Deletes {@code filesToDelete}, which the rewritten storage file has replaced.
+     * If this fails, they are deleted after the next rewrite instead.
+     */
+    private void deleteStaleFiles(List<Path> filesToDelete) throws StorageOperationException {
+        try {
+            deleteFiles(filesToDelete);
+        } catch (IOException ioe) {
+            synchronized (staleFiles) {
+                staleFiles.addAll(filesToDelete);
+            }
+            throw new StorageOperationException("Error deleting files: " + filesToDelete);
+        }
+    }
+
+    /**
+     * Deletes {@code files} in order, ignoring those that do not exist.
+     * A directory that still holds other files is left in place.
+     */
+    static void deleteFiles(List<Path> files) throws IOException {
+        for (Path file : files) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (DirectoryNotEmptyException dnee) {
+                // only the files of the storage are deleted, not anything else kept in the directory
+            }
+        }
+    }
+
+    /**
+     * Writes {@code addressBook} to a temporary file, and then replaces the storage file with it.
+     *
+     * @param isSyncRequired if true, the new storage file is forced onto the storage device before returning.
+     */
+    void writeStorageFile(AddressBook addressBook, boolean isSyncRequired) throws StorageOperationException {
+        final Path tempPath = Paths.get(path + TEMP_FILE_SUFFIX);
+        try {
+            try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                final OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel));
+                if (isBinary) {
+                    AddressBookBinaryEncoder.encodeAddressBook(addressBook, out);
+                } else {
+                    writeLines(AddressBookEncoder.encodeAddressBook(addressBook), out);
+                }
+                out.flush();
+                if (isSyncRequired) {
+                    channel.force(true);
+                }
+            }
+            replaceStorageFile(tempPath, isSyncRequired);
         } catch (IOException ioe) {
             throw new StorageOperationException("Error writing to file: " + path);
         }
     }
 
+    private static void writeLines(List<String> lines, OutputStream out) throws IOException {
+        final Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        for (String line : lines) {
+            writer.write(line);
+            writer.write(System.lineSeparator());
+        }
+        writer.flush();
+    }
+
+    /**
+     * Replaces the storage file with the file at {@code tempPath}, atomically if the file system supports it.
+     */
+    private void replaceStorageFile(Path tempPath, boolean isSyncRequired) throws IOException {
+        try {
+            Files.move(tempPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException amnse) {
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        if (isSyncRequired) {
+            syncDirectory(path.toAbsolutePath().getParent());
+        }
+    }
+
+    /**
+     * Forces the entries of {@code directory} onto the storage device, so that the replacement of the storage file
+     * is itself durable. Not all platforms allow directories to be opened for this, in which case nothing is done.
+     */
+    private static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ioe) {
+            // directories cannot be synced on this platform
+        }
+    }
+
     /**
      * Loads the {@code AddressBook} data from this storage file, and then returns it.
      * Returns an empty {@code AddressBook} if the file does not exist, or is not a regular file.
+     * The changes recorded in the journal, if there is one, are applied to the loaded data.
+     * If the storage is sharded, all shards are loaded in parallel.
      *
-     * @throws StorageOperationException if there were errors reading and/or converting data from file.
+     * If the address book was stored in the other layout, sharded or not, by an earlier run, it is loaded from
+     * there instead, and moved into the current layout on the next save. The files of the earlier layout are
+     * deleted once the address book has been written in the current layout, so they are never loaded again.
+     *
+     * @throws StorageOperationException if there were errors reading and/or converting data from file,
+     *     or if the address book is stored in both layouts.
      */
     public AddressBook load() throws StorageOperationException {
+        if (shards != null) {
+            return shards.load(this);
+        }
+
+        final List<Path> shardFiles = StorageShards.findShardFiles(shardDirectory, getFileExtension());
+        final AddressBook addressBook;
+        synchronized (staleFiles) {
+            staleFiles.clear();
+        }
+        if (shardFiles.isEmpty()) {
+            addressBook = loadUnshardedFile();
+        } else if (!findStoredFiles().isEmpty()) {
+            throw new StorageOperationException(String.format(MESSAGE_STORED_IN_BOTH_LAYOUTS, path, shardDirectory));
+        } else {
+            addressBook = StorageShards.loadShardFiles(shardFiles);
+            synchronized (staleFiles) {
+                staleFiles.addAll(shardFiles);
+                staleFiles.add(shardDirectory);
+            }
+            isRewriteRequired = true;
+        }
+
+        if (journal != null) {
+            addressBook.setChangeListener(journal);
+            journalledAddressBook = addressBook;
+        }
+        return addressBook;
+    }
+
+    /**
+     * Returns the paths of the storage file and its journal, for the ones that exist.
+     */
+    List<Path> findStoredFiles() {
+        final List<Path> storedFiles = new ArrayList<>();
+        if (Files.exists(path)) {
+            storedFiles.add(path);
+        }
+        if (Files.exists(journalPath)) {
+            storedFiles.add(journalPath);
+        }
+        return storedFiles;
+    }
+
+    /**
+     * Loads the storage file, and applies the changes recorded in its journal. A journal left over from an earlier
+     * run is applied even if journalling is not enabled now, and is deleted when the storage file is next rewritten.
+     */
+    AddressBook loadUnshardedFile() throws StorageOperationException {
+        final AddressBook addressBook = loadStorageFile();
+        final JournalFile storedJournal;
+        if (journal != null) {
+            storedJournal = journal;
+        } else if (Files.exists(journalPath)) {
+            storedJournal = new JournalFile(journalPath);
+            if (shards == null) {
+                synchronized (staleFiles) {
+                    staleFiles.add(journalPath);
+                }
+                isRewriteRequired = true;
+            }
+        } else {
+            return addressBook;
+        }
+
+        // the changes are replayed onto the loaded persons, so that the address book is created with all of them
+        final UniquePersonList persons = addressBook.getAllPersons();
+        try {
+            storedJournal.replay(persons);
+        } catch (IOException ioe) {
+            throw new StorageOperationException("Error reading from file: " + storedJournal.path);
+        } catch (IllegalValueException ive) {
+            throw new StorageOperationException("File contains illegal data values; data type constraints not met");
+        }
+        return new AddressBook(persons);
+    }
+
+    AddressBook loadStorageFile() throws StorageOperationException {
 
         if (!Files.exists(path) || !Files.isRegularFile(path)) {
             return new AddressBook();
         }
 
         try {
-            return AddressBookDecoder.decodeAddressBook(Files.readAllLines(path));
+            if (isBinary) {
+                try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+                    return AddressBookBinaryDecoder.decodeAddressBook(in);
+                }
+            }
+            if (Files.size(path) >= MIN_FILE_SIZE_FOR_BLOCK_DECODING) {
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                    return AddressBookDecoder.decodeAddressBook(channel, getDecodingChunkCount());
+                }
+            }
+            try (BufferedReader reader = Files.newBufferedReader(path)) {
+                return AddressBookDecoder.decodeAddressBook(reader);
+            }
         } catch (FileNotFoundException fnfe) {
             throw new AssertionError("A non-existent file scenario is already handled earlier.");
         // other errors
         } catch (IOException ioe) {
             throw new StorageOperationException("Error writing to file: " + path);
-        } catch (IllegalValueException ive) {
-            throw new StorageOperationException("File contains illegal data values; data type constraints not met");
         }
     }
 
+    /**
+     * Returns the number of chunks to split each block of a storage file into, so that it is decoded in parallel
+     * if more than one processor is available.
+     */
+    private static int getDecodingChunkCount() {
+        final int processorCount = Runtime.getRuntime().availableProcessors();
+        return processorCount > 1 ? processorCount * PARALLEL_DECODING_CHUNKS_PER_PROCESSOR : 1;
+    }
+
     public String getPath() {
-        return path.toString();
+        return shards == null ? path.toString() : shards.directory.toString();
     }
 
 }
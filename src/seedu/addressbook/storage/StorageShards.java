@@ -0,0 +1,399 @@
+package seedu.addressbook.storage;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.NotDirectoryException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.person.ReadOnlyPerson;
+import seedu.addressbook.data.person.UniquePersonList;
+import seedu.addressbook.data.person.UniquePersonList.DuplicatePersonException;
+import seedu.addressbook.data.person.UniquePersonList.PersonNotFoundException;
+import seedu.addressbook.storage.StorageFile.InvalidStorageFilePathException;
+import seedu.addressbook.storage.StorageFile.StorageOperationException;
+
+/**
+ * Represents an address book stored as a fixed number of shard files in one directory.
+ * Each person is stored in the shard chosen by a hash of their name and phone. Shards are loaded and written
+ * in parallel, and saving an address book loaded or saved by these shards only rewrites the shards that
+ * contain changes.
+ *
+ * The persons in each shard are kept up to date as the tracked address book changes, so that preparing a save
+ * copies the changed shards in constant time each, without scanning the address book.
+ */
+class StorageShards implements AddressBook.ChangeListener {
+
+    /** Suffix appended to the storage file path to obtain the path of the directory holding its shards. */
+    static final String SHARD_DIRECTORY_SUFFIX = ".shards";
+
+    private static final String SHARD_FILE_PREFIX = "shard-";
+
+    final Path directory;
+    private final String fileExtension;
+    private final StorageFile[] shardFiles;
+
+    /** The address book whose changes are being tracked in {@link #shardContents}. */
+    private AddressBook trackedAddressBook;
+
+    /** The persons of the tracked address book in each shard. */
+    private final UniquePersonList[] shardContents;
+
+    /** Whether each shard has changed since it was last prepared for saving. */
+    private final boolean[] isShardChanged;
+
+    /**
+     * Files left over from a different number of shards, or from storage in a single file, deleted when all shards
+     * are next rewritten.
+     */
+    private final List<Path> staleFiles = new ArrayList<>();
+
+    /** Set when the stored shards do not match the tracked address book, so the next save rewrites all of them. */
+    private volatile boolean isRewriteRequired;
+
+    /**
+     * @param fileExtension extension of the shard files, which determines their storage format
+     * @throws InvalidStorageFilePathException if {@code shardCount} is not positive.
+     */
+    StorageShards(Path directory, String fileExtension, int shardCount) throws InvalidStorageFilePathException {
+        if (shardCount < 1) {
+            throw new InvalidStorageFilePathException("Number of storage shards must be positive");
+        }
+        this.directory = directory;
+        this.fileExtension = fileExtension;
+        shardFiles = new StorageFile[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shardFiles[i] = new StorageFile(getShardPath(i).toString());
+        }
+        shardContents = new UniquePersonList[shardCount];
+        isShardChanged = new boolean[shardCount];
+    }
+
+    /**
+     * Returns the index of the shard that stores {@code person}, out of {@code shardCount} shards.
+     * The index depends only on the name and phone of the person, and is the same on every platform.
+     */
+    static int getShardIndex(ReadOnlyPerson person, int shardCount) {
+        final int hash = 31 * person.getName().fullName.hashCode() + person.getPhone().value.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), shardCount);
+    }
+
+    private Path getShardPath(int shardIndex) {
+        return directory.resolve(SHARD_FILE_PREFIX + shardIndex + fileExtension);
+    }
+
+    @Override
+    public void personAdded(Person added) {
+        final int shardIndex = getShardIndex(added, shardFiles.length);
+        try {
+            shardContents[shardIndex].add(added);
+        } catch (DuplicatePersonException dpe) {
+            throw new AssertionError("Persons added to an address book are unique.");
+        }
+        isShardChanged[shardIndex] = true;
+    }
+
+    @Override
+    public void personRemoved(ReadOnlyPerson removed) {
+        final int shardIndex = getShardIndex(removed, shardFiles.length);
+        try {
+            shardContents[shardIndex].remove(removed);
+        } catch (PersonNotFoundException pnfe) {
+            throw new AssertionError("Persons removed from an address book were added to it first.");
+        }
+        isShardChanged[shardIndex] = true;
+    }
+
+    @Override
+    public void cleared() {
+        for (UniquePersonList contents : shardContents) {
+            contents.clear();
+        }
+        Arrays.fill(isShardChanged, true);
+    }
+
+    /**
+     * Loads all shards in parallel and returns the address book they make up.
+     * If there are no shard files yet, the single file storage given by {@code unshardedFile} is loaded instead.
+     * It is then split into shards on the next save, after which its files are deleted.
+     *
+     * @throws StorageOperationException if there were errors reading and/or converting data from any shard,
+     *     or if the address book is stored both in shards and in {@code unshardedFile}.
+     */
+    AddressBook load(StorageFile unshardedFile) throws StorageOperationException {
+        final List<Path> unshardedFiles = unshardedFile.findStoredFiles();
+        if (findShardFiles(directory, fileExtension).isEmpty()) {
+            final AddressBook addressBook = unshardedFile.loadUnshardedFile();
+            synchronized (staleFiles) {
+                staleFiles.clear();
+                staleFiles.addAll(unshardedFiles);
+            }
+            isRewriteRequired = !unshardedFiles.isEmpty();
+            return track(addressBook);
+        }
+        if (!unshardedFiles.isEmpty()) {
+            throw new StorageOperationException(String.format(StorageFile.MESSAGE_STORED_IN_BOTH_LAYOUTS,
+                    unshardedFile.path, directory));
+        }
+
+        final List<Path> storedFiles = findStoredShardFiles();
+        final AddressBook[] storedShards = applyInParallel(storedFiles.size(), i -> i < shardFiles.length
+                ? shardFiles[i].loadStorageFile()
+                : openShardFile(storedFiles.get(i)).loadStorageFile());
+
+        // persons in the right shard are added first, so that they take precedence over stale copies
+        final UniquePersonList loadedPersons = new UniquePersonList();
+        final List<Person> misplacedPersons = new ArrayList<>();
+        for (int i = 0; i < storedFiles.size(); i++) {
+            final int shardIndex = getShardIndex(storedFiles.get(i), fileExtension);
+            for (Person person : storedShards[i].getAllPersons()) {
+                if (shardIndex == getShardIndex(person, shardFiles.length)) {
+                    addLoadedPerson(loadedPersons, person);
+                } else {
+                    misplacedPersons.add(person);
+                }
+            }
+        }
+        for (Person person : misplacedPersons) {
+            if (!loadedPersons.contains(person)) {
+                addLoadedPerson(loadedPersons, person);
+            }
+        }
+        isRewriteRequired = !misplacedPersons.isEmpty() || storedFiles.size() > shardFiles.length;
+        return track(new AddressBook(loadedPersons));
+    }
+
+    /**
+     * Returns the paths of all shard files in the shard directory, with shards in use first, in order.
+     * Shard files beyond the number of shards in use are recorded in {@link #staleFiles}.
+     */
+    private List<Path> findStoredShardFiles() throws StorageOperationException {
+        final List<Path> storedFiles = new ArrayList<>();
+        for (int i = 0; i < shardFiles.length; i++) {
+            storedFiles.add(getShardPath(i));
+        }
+        final List<Path> unusedFiles = new ArrayList<>();
+        for (Path file : findShardFiles(directory, fileExtension)) {
+            if (getShardIndex(file, fileExtension) >= shardFiles.length) {
+                unusedFiles.add(file);
+            }
+        }
+        synchronized (staleFiles) {
+            staleFiles.clear();
+            staleFiles.addAll(unusedFiles);
+        }
+        storedFiles.addAll(unusedFiles);
+        return storedFiles;
+    }
+
+    /**
+     * Returns the paths of all shard files with {@code fileExtension} in {@code directory}, whatever the number
+     * of shards they were written for, or an empty list if the directory does not exist.
+     */
+    static List<Path> findShardFiles(Path directory, String fileExtension) throws StorageOperationException {
+        final List<Path> shardFiles = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                SHARD_FILE_PREFIX + "*" + fileExtension)) {
+            for (Path file : files) {
+                if (getShardIndex(file, fileExtension) >= 0) {
+                    shardFiles.add(file);
+                }
+            }
+        } catch (NoSuchFileException | NotDirectoryException e) {
+            return shardFiles;
+        } catch (IOException ioe) {
+            throw new StorageOperationException("Error reading from directory: " + directory);
+        }
+        return shardFiles;
+    }
+
+    /**
+     * Loads {@code shardFiles} in parallel, whatever the number of shards they were written for, and returns
+     * the address book they make up. A person stored in more than one shard is loaded once.
+     *
+     * @throws StorageOperationException if there were errors reading and/or converting data from any shard.
+     */
+    static AddressBook loadShardFiles(List<Path> shardFiles) throws StorageOperationException {
+        final AddressBook[] storedShards = applyInParallel(shardFiles.size(),
+                i -> openShardFile(shardFiles.get(i)).loadStorageFile());
+        final UniquePersonList loadedPersons = new UniquePersonList();
+        for (AddressBook storedShard : storedShards) {
+            for (Person person : storedShard.getAllPersons()) {
+                if (!loadedPersons.contains(person)) {
+                    addLoadedPerson(loadedPersons, person);
+                }
+            }
+        }
+        return new AddressBook(loadedPersons);
+    }
+
+    private static StorageFile openShardFile(Path shardFile) {
+        try {
+            return new StorageFile(shardFile.toString());
+        } catch (InvalidStorageFilePathException isfpe) {
+            throw new AssertionError("Shard files are found by their valid file extension.");
+        }
+    }
+
+    /**
+     * Returns the shard index in the name of {@code shardFile}, or -1 if it is not the name of a shard file.
+     */
+    private static int getShardIndex(Path shardFile, String fileExtension) {
+        final String fileName = shardFile.getFileName().toString();
+        final String index = fileName.substring(SHARD_FILE_PREFIX.length(),
+                fileName.length() - fileExtension.length());
+        try {
+            return Integer.parseInt(index);
+        } catch (NumberFormatException nfe) {
+            return -1;
+        }
+    }
+
+    private static void addLoadedPerson(UniquePersonList persons, Person person) throws StorageOperationException {
+        try {
+            persons.add(person);
+        } catch (DuplicatePersonException dpe) {
+            throw new StorageOperationException("Storage shards contain duplicate persons");
+        }
+    }
+
+    /**
+     * Splits the persons of {@code addressBook} into shards, and tracks its changes from then on.
+     * This is the only time the whole address book is scanned.
+     */
+    private AddressBook track(AddressBook addressBook) {
+        for (int i = 0; i < shardContents.length; i++) {
+            shardContents[i] = new UniquePersonList();
+        }
+        for (Person person : addressBook.getAllPersons()) {
+            try {
+                shardContents[getShardIndex(person, shardFiles.length)].add(person);
+            } catch (DuplicatePersonException dpe) {
+                throw new AssertionError("Persons taken from an address book are unique.");
+            }
+        }
+        addressBook.setChangeListener(this);
+        trackedAddressBook = addressBook;
+        Arrays.fill(isShardChanged, false);
+        return addressBook;
+    }
+
+    /**
+     * Returns a copy of the contents of each shard that must be rewritten to save {@code addressBook},
+     * indexed by shard, with null for the shards that are already up to date.
+     * Each shard is copied in constant time. Must be called on the thread that modifies {@code addressBook}.
+     */
+    AddressBook[] prepareShardSnapshots(AddressBook addressBook) {
+        if (addressBook != trackedAddressBook) {
+            track(addressBook);
+            isRewriteRequired = true;
+        }
+        final boolean isEveryShardToWrite = isRewriteRequired;
+        isRewriteRequired = false;
+
+        final AddressBook[] snapshots = new AddressBook[shardFiles.length];
+        for (int i = 0; i < snapshots.length; i++) {
+            if (isEveryShardToWrite || isShardChanged[i]) {
+                snapshots[i] = new AddressBook(shardContents[i]);
+            }
+        }
+        Arrays.fill(isShardChanged, false);
+        return snapshots;
+    }
+
+    /**
+     * Takes the stale files to delete, if all shards are being rewritten by {@code shardSnapshots}.
+     */
+    List<Path> takeStaleFiles(AddressBook[] shardSnapshots) {
+        for (AddressBook snapshot : shardSnapshots) {
+            if (snapshot == null) {
+                return new ArrayList<>();
+            }
+        }
+        synchronized (staleFiles) {
+            final List<Path> taken = new ArrayList<>(staleFiles);
+            staleFiles.clear();
+            return taken;
+        }
+    }
+
+    /**
+     * Rewrites the non-null {@code shardSnapshots} in parallel, and then deletes {@code filesToDelete}.
+     * If this fails, the next save rewrites all shards, and deletes the files that were not deleted.
+     *
+     * @param isSyncRequired if true, the shards are forced onto the storage device before returning.
+     * @throws StorageOperationException if there were errors converting and/or storing data to any shard.
+     */
+    void write(AddressBook[] shardSnapshots, List<Path> filesToDelete, boolean isSyncRequired)
+            throws StorageOperationException {
+        try {
+            Files.createDirectories(directory);
+            applyInParallel(shardSnapshots.length, i -> {
+                if (shardSnapshots[i] != null) {
+                    shardFiles[i].writeStorageFile(shardSnapshots[i], isSyncRequired);
+                }
+                return null;
+            });
+            StorageFile.deleteFiles(filesToDelete);
+        } catch (IOException ioe) {
+            handleWriteFailure(filesToDelete);
+            throw new StorageOperationException("Error writing to directory: " + directory);
+        } catch (StorageOperationException soe) {
+            handleWriteFailure(filesToDelete);
+            throw soe;
+        }
+    }
+
+    private void handleWriteFailure(List<Path> filesToDelete) {
+        synchronized (staleFiles) {
+            staleFiles.addAll(filesToDelete);
+        }
+        isRewriteRequired = true;
+    }
+
+    /**
+     * An operation on the shard with a given index, returning the address book it reads, if any.
+     */
+    private interface ShardOperation {
+        AddressBook apply(int index) throws StorageOperationException;
+    }
+
+    /**
+     * Applies {@code operation} to the indexes 0 to {@code count - 1} in parallel, and returns their results in order.
+     *
+     * @throws StorageOperationException the first failure of the operation, after all operations have completed.
+     */
+    private static AddressBook[] applyInParallel(int count, ShardOperation operation)
+            throws StorageOperationException {
+        final AddressBook[] results = new AddressBook[count];
+        final StorageOperationException[] failures = new StorageOperationException[count];
+        final List<ForkJoinTask<?>> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final int index = i;
+            tasks.add(ForkJoinPool.commonPool().submit(() -> {
+                try {
+                    results[index] = operation.apply(index);
+                } catch (StorageOperationException soe) {
+                    failures[index] = soe;
+                }
+            }));
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+        for (StorageOperationException failure : failures) {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,46 @@
+package seedu.addressbook.storage;
+
+/**
+ * Determines how often saved data is forced onto the storage device, trading durability for save throughput.
+ * Data that has been saved but not yet forced onto the device may be lost if the system crashes,
+ * but a crash never leaves a partially written storage file behind.
+ */
+public class SyncPolicy {
+
+    /** Forces every save onto the storage device before the save completes. */
+    public static final SyncPolicy ALWAYS = new SyncPolicy(1, 0);
+
+    /** Never forces saves onto the storage device, leaving it to the operating system to write them back. */
+    public static final SyncPolicy NEVER = new SyncPolicy(Integer.MAX_VALUE, Long.MAX_VALUE);
+
+    private final int maxUnsyncedSaves;
+    private final long maxUnsyncedMillis;
+
+    private SyncPolicy(int maxUnsyncedSaves, long maxUnsyncedMillis) {
+        this.maxUnsyncedSaves = maxUnsyncedSaves;
+        this.maxUnsyncedMillis = maxUnsyncedMillis;
+    }
+
+    /**
+     * Returns a policy that forces a save onto the storage device if it is the {@code saves}-th save since
+     * the last forced save, or if at least {@code millis} milliseconds have passed since the last forced save.
+     *
+     * @throws IllegalArgumentException if {@code saves} is not positive or {@code millis} is negative.
+     */
+    public static SyncPolicy every(int saves, long millis) {
+        if (saves < 1 || millis < 0) {
+            throw new IllegalArgumentException("Sync interval must be at least 1 save and 0 milliseconds");
+        }
+        return new SyncPolicy(saves, millis);
+    }
+
+    /**
+     * Returns true if the save about to be made should be forced onto the storage device.
+     *
+     * @param savesSinceLastSync number of saves since the last forced save, including the one about to be made
+     * @param millisSinceLastSync milliseconds passed since the last forced save
+     */
+    public boolean isSyncDue(int savesSinceLastSync, long millisSinceLastSync) {
+        return savesSinceLastSync >= maxUnsyncedSaves || millisSinceLastSync >= maxUnsyncedMillis;
+    }
+}
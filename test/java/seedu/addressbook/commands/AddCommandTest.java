@@ -144,4 +144,32 @@ public class AddCommandTest {
         assertTrue(people.contains(p));
         assertEquals(1, people.immutableListView().size());
     }
+
+    @Test
+    public void addCommand_severalNewPersons_allAdded() throws Exception {
+        Person p = TestUtil.generateTestPerson();
+        Person other = new Person(new Name("Other Person"), p.getPhone(), p.getEmail(), p.getAddress(), p.getTags());
+        AddCommand command = new AddCommand(Arrays.asList(p, other));
+        AddressBook book = new AddressBook();
+        command.setData(book, EMPTY_PERSON_LIST);
+        CommandResult result = command.execute();
+
+        assertEquals(Arrays.asList(p, other), book.getAllPersons().immutableListView());
+        assertEquals(1, book.getModificationCount());
+        assertEquals(String.format(AddCommand.MESSAGE_SUCCESS_MULTIPLE, 2), result.feedbackToUser);
+    }
+
+    @Test
+    public void addCommand_severalPersonsWithDuplicate_noneAdded() throws Exception {
+        Person p = TestUtil.generateTestPerson();
+        Person other = new Person(new Name("Other Person"), p.getPhone(), p.getEmail(), p.getAddress(), p.getTags());
+        AddressBook book = new AddressBook();
+        book.addPerson(p);
+        AddCommand command = new AddCommand(Arrays.asList(other, p));
+        command.setData(book, EMPTY_PERSON_LIST);
+        CommandResult result = command.execute();
+
+        assertEquals(AddCommand.MESSAGE_DUPLICATE_PERSONS, result.feedbackToUser);
+        assertEquals(Collections.singletonList(p), book.getAllPersons().immutableListView());
+    }
 }
@@ -51,6 +51,7 @@ public class FindCommandTest {
         CommandResult result = command.execute();
 
         assertEquals(Command.getMessageForPersonListShownSummary(expectedPersonList), result.feedbackToUser);
+        assertEquals(addressBook.getCurrentVersion().getNumber(), result.getAddressBookVersion().getAsLong());
     }
 
     private FindCommand createFindCommand(String[] keywords) {
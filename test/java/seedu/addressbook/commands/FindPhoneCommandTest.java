@@ -0,0 +1,110 @@
+package seedu.addressbook.commands;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.exception.IllegalValueException;
+import seedu.addressbook.data.person.Name;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.person.ReadOnlyPerson;
+import seedu.addressbook.data.person.UniquePersonList;
+import seedu.addressbook.data.person.UniquePersonList.DuplicatePersonException;
+import seedu.addressbook.util.TypicalPersons;
+
+public class FindPhoneCommandTest {
+
+    private final AddressBook addressBook = new TypicalPersons().getTypicalAddressBook();
+    private final TypicalPersons td = new TypicalPersons();
+
+    @Test
+    public void execute() throws Exception {
+        //exact phone: matched
+        assertFindPhoneCommandBehavior("91119111", Arrays.asList(td.amy));
+
+        //leading zero added: not matched
+        assertFindPhoneCommandBehavior("091119111", Collections.emptyList());
+
+        //partial phone: not matched
+        assertFindPhoneCommandBehavior("9111", Collections.emptyList());
+
+        //private phone: matched
+        assertFindPhoneCommandBehavior("93339333", Arrays.asList(td.candy));
+
+        //several persons with the same phone: all matched in order
+        Person amyNamesake = new Person(new Name("Amy Namesake"), td.amy.getPhone(), td.amy.getEmail(),
+                td.amy.getAddress(), td.amy.getTags());
+        addressBook.addPerson(amyNamesake);
+        assertFindPhoneCommandBehavior("91119111", Arrays.asList(td.amy, amyNamesake));
+    }
+
+    @Test
+    public void execute_changePublishedWhileFinding_resultsFromReportedVersion() throws Exception {
+        Person amyNamesake = new Person(new Name("Amy Namesake"), td.amy.getPhone(), td.amy.getEmail(),
+                td.amy.getAddress(), td.amy.getTags());
+        ChangedAfterReadAddressBook changingAddressBook = new ChangedAfterReadAddressBook(addressBook.getAllPersons());
+        long versionBefore = changingAddressBook.getCurrentVersion().getNumber();
+        changingAddressBook.addAfterNextRead(amyNamesake);
+
+        FindPhoneCommand command = new FindPhoneCommand("91119111");
+        command.setData(changingAddressBook, Collections.emptyList());
+        CommandResult result = command.execute();
+
+        assertEquals(versionBefore, result.getAddressBookVersion().getAsLong());
+        assertEquals(Arrays.asList(td.amy), result.getRelevantPersons().get());
+        assertEquals(Arrays.asList(td.amy, amyNamesake), changingAddressBook.findPersonsByPhone(td.amy.getPhone()));
+    }
+
+    /**
+     * Executes the find phone command for the given phone and verifies
+     * the result matches the persons in the expectedPersonList exactly.
+     */
+    private void assertFindPhoneCommandBehavior(String phone, List<ReadOnlyPerson> expectedPersonList)
+            throws IllegalValueException {
+        FindPhoneCommand command = new FindPhoneCommand(phone);
+        command.setData(addressBook, Collections.emptyList());
+        CommandResult result = command.execute();
+
+        assertEquals(Command.getMessageForPersonListShownSummary(expectedPersonList), result.feedbackToUser);
+        assertEquals(expectedPersonList, result.getRelevantPersons().get());
+    }
+
+    /**
+     * An address book that can add a person right after its current version is read,
+     * as another thread could between two reads.
+     */
+    static class ChangedAfterReadAddressBook extends AddressBook {
+        private Person toAdd;
+
+        ChangedAfterReadAddressBook(UniquePersonList persons) {
+            super(persons);
+        }
+
+        /**
+         * Adds {@code toAdd} the next time the current version is read, after reading it.
+         */
+        void addAfterNextRead(Person toAdd) {
+            this.toAdd = toAdd;
+        }
+
+        @Override
+        public Version getCurrentVersion() {
+            final Version version = super.getCurrentVersion();
+            if (toAdd != null) {
+                final Person added = toAdd;
+                toAdd = null;
+                try {
+                    addPerson(added);
+                } catch (DuplicatePersonException dpe) {
+                    throw new AssertionError(dpe);
+                }
+            }
+            return version;
+        }
+    }
+}
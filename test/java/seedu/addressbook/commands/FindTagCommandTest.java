@@ -0,0 +1,83 @@
+package seedu.addressbook.commands;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Test;
+
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.exception.IllegalValueException;
+import seedu.addressbook.data.person.Name;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.person.ReadOnlyPerson;
+import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.util.TypicalPersons;
+
+public class FindTagCommandTest {
+
+    private final AddressBook addressBook = new TypicalPersons().getTypicalAddressBook();
+    private final TypicalPersons td = new TypicalPersons();
+
+    @Test
+    public void execute() throws Exception {
+        addressBook.setPersonTags(td.amy, new HashSet<>(Arrays.asList(new Tag("test"), new Tag("friends"))));
+        Person taggedAmy = new Person(td.amy.getName(), td.amy.getPhone(), td.amy.getEmail(), td.amy.getAddress(),
+                new HashSet<>(Arrays.asList(new Tag("test"), new Tag("friends"))));
+
+        //one tag: matched
+        assertFindTagCommandBehavior(new String[]{"test"}, false, Arrays.asList(taggedAmy, td.dan));
+
+        //different case: not matched
+        assertFindTagCommandBehavior(new String[]{"Test"}, false, Collections.emptyList());
+
+        //any of several tags: matched
+        assertFindTagCommandBehavior(new String[]{"friends", "test", "unused"}, false,
+                Arrays.asList(taggedAmy, td.dan));
+
+        //all of several tags: matched
+        assertFindTagCommandBehavior(new String[]{"friends", "test"}, true, Arrays.asList(taggedAmy));
+
+        //all of several tags, one unused: not matched
+        assertFindTagCommandBehavior(new String[]{"friends", "unused"}, true, Collections.emptyList());
+    }
+
+    @Test
+    public void execute_changePublishedWhileFinding_resultsFromReportedVersion() throws Exception {
+        Person taggedNamesake = new Person(new Name("Dan Namesake"), td.dan.getPhone(), td.dan.getEmail(),
+                td.dan.getAddress(), td.dan.getTags());
+        FindPhoneCommandTest.ChangedAfterReadAddressBook changingAddressBook =
+                new FindPhoneCommandTest.ChangedAfterReadAddressBook(addressBook.getAllPersons());
+        long versionBefore = changingAddressBook.getCurrentVersion().getNumber();
+
+        for (boolean isAllTagsRequired : new boolean[] {false, true}) {
+            changingAddressBook.addAfterNextRead(taggedNamesake);
+            FindTagCommand command = new FindTagCommand(new HashSet<>(Arrays.asList("test")), isAllTagsRequired);
+            command.setData(changingAddressBook, Collections.emptyList());
+            CommandResult result = command.execute();
+
+            assertEquals(versionBefore, result.getAddressBookVersion().getAsLong());
+            assertEquals(Arrays.asList(td.dan), result.getRelevantPersons().get());
+            changingAddressBook.removePerson(taggedNamesake);
+            versionBefore = changingAddressBook.getCurrentVersion().getNumber();
+        }
+    }
+
+    /**
+     * Executes the find tag command for the given tags and verifies
+     * the result matches the persons in the expectedPersonList exactly.
+     */
+    private void assertFindTagCommandBehavior(String[] tagNames, boolean isAllTagsRequired,
+            List<ReadOnlyPerson> expectedPersonList) throws IllegalValueException {
+        FindTagCommand command = new FindTagCommand(new HashSet<>(Arrays.asList(tagNames)), isAllTagsRequired);
+        command.setData(addressBook, Collections.emptyList());
+        CommandResult result = command.execute();
+
+        assertEquals(Command.getMessageForPersonListShownSummary(expectedPersonList), result.feedbackToUser);
+        assertEquals(expectedPersonList, result.getRelevantPersons().get());
+    }
+
+}
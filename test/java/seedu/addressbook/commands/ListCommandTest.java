@@ -0,0 +1,67 @@
+package seedu.addressbook.commands;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.person.Address;
+import seedu.addressbook.data.person.Email;
+import seedu.addressbook.data.person.Name;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.person.Phone;
+import seedu.addressbook.data.person.ReadOnlyPerson;
+import seedu.addressbook.util.TypicalPersons;
+
+public class ListCommandTest {
+
+    private final AddressBook addressBook = new TypicalPersons().getTypicalAddressBook();
+    private final TypicalPersons td = new TypicalPersons();
+
+    @Test
+    public void execute() throws Exception {
+        Person bob = new Person(new Name("bob"), new Phone("95559555", false), new Email("bob@gmail.com", false),
+                new Address("5 Bob Street", false), Collections.emptySet());
+        addressBook.addPerson(bob);
+
+        //all persons, in the order they were added
+        List<ReadOnlyPerson> added = Arrays.asList(td.amy, td.bill, td.candy, td.dan, bob);
+        assertListCommandBehavior(new ListCommand(), Command.getMessageForPersonListShownSummary(added), added);
+
+        //all persons, by name ignoring case
+        List<ReadOnlyPerson> sorted = Arrays.asList(td.amy, td.bill, bob, td.candy, td.dan);
+        assertListCommandBehavior(new ListCommand(true), Command.getMessageForPersonListShownSummary(sorted),
+                sorted);
+
+        //a page by name
+        assertListCommandBehavior(new ListCommand(true, 2, 2), String.format(ListCommand.MESSAGE_PAGE_LISTED, 2, 3, 2),
+                Arrays.asList(bob, td.candy));
+
+        //the last page, in the order added
+        assertListCommandBehavior(new ListCommand(false, 3, 2),
+                String.format(ListCommand.MESSAGE_PAGE_LISTED, 3, 3, 1), Arrays.asList(bob));
+
+        //a page past the end
+        assertListCommandBehavior(new ListCommand(true, 4, 2),
+                String.format(ListCommand.MESSAGE_PAGE_LISTED, 4, 3, 0), Collections.emptyList());
+        assertListCommandBehavior(new ListCommand(false, Integer.MAX_VALUE, Integer.MAX_VALUE),
+                String.format(ListCommand.MESSAGE_PAGE_LISTED, Integer.MAX_VALUE, 1, 0), Collections.emptyList());
+    }
+
+    /**
+     * Executes the list command and verifies the result matches the persons in the expectedPersonList exactly.
+     */
+    private void assertListCommandBehavior(ListCommand command, String expectedMessage,
+            List<ReadOnlyPerson> expectedPersonList) {
+        command.setData(addressBook, Collections.emptyList());
+        CommandResult result = command.execute();
+
+        assertEquals(expectedMessage, result.feedbackToUser);
+        assertEquals(expectedPersonList, result.getRelevantPersons().get());
+        assertEquals(addressBook.getCurrentVersion().getNumber(), result.getAddressBookVersion().getAsLong());
+    }
+}
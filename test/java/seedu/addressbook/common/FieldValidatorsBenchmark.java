@@ -0,0 +1,64 @@
+package seedu.addressbook.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import seedu.addressbook.data.person.Address;
+import seedu.addressbook.data.person.Email;
+import seedu.addressbook.data.person.Name;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.person.Phone;
+import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.util.Benchmark;
+
+/**
+ * Compares each of the {@link FieldValidators} against matching its validation regex with {@link String#matches},
+ * over the fields of generated persons.
+ */
+public class FieldValidatorsBenchmark {
+
+    private static final int PERSON_COUNT = 100000;
+
+    public static void main(String[] args) throws Exception {
+        final List<Person> persons = Benchmark.generatePersons(PERSON_COUNT, 25);
+        final List<String> names = new ArrayList<>();
+        final List<String> phones = new ArrayList<>();
+        final List<String> emails = new ArrayList<>();
+        final List<String> addresses = new ArrayList<>();
+        final List<String> tags = new ArrayList<>();
+        for (Person person : persons) {
+            names.add(person.getName().fullName);
+            phones.add(person.getPhone().value);
+            emails.add(person.getEmail().value);
+            addresses.add(person.getAddress().value);
+            for (Tag tag : person.getTags()) {
+                tags.add(tag.tagName);
+            }
+        }
+
+        compare("names", names, Name.NAME_VALIDATION_REGEX, FieldValidators::isLettersOrSpaces);
+        compare("phones", phones, Phone.PHONE_VALIDATION_REGEX, FieldValidators::isDigits);
+        compare("emails", emails, Email.EMAIL_VALIDATION_REGEX, FieldValidators::isWordsAtWords);
+        compare("addresses", addresses, Address.ADDRESS_VALIDATION_REGEX, FieldValidators::isSingleLine);
+        compare("tags", tags, Tag.TAG_VALIDATION_REGEX, FieldValidators::isLettersOrDigits);
+    }
+
+    private static void compare(String field, List<String> values, String regex, Predicate<String> validator)
+            throws Exception {
+        Benchmark.time("Validate " + values.size() + " " + field + " with a regex",
+                () -> countValid(values, value -> value.matches(regex)));
+        Benchmark.time("Validate " + values.size() + " " + field + " with a validator",
+                () -> countValid(values, validator));
+    }
+
+    private static int countValid(List<String> values, Predicate<String> isValid) {
+        int validCount = 0;
+        for (String value : values) {
+            if (isValid.test(value)) {
+                validCount++;
+            }
+        }
+        return validCount;
+    }
+}
@@ -0,0 +1,95 @@
+package seedu.addressbook.common;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import org.junit.Test;
+
+import seedu.addressbook.data.person.Address;
+import seedu.addressbook.data.person.Email;
+import seedu.addressbook.data.person.Name;
+import seedu.addressbook.data.person.Phone;
+import seedu.addressbook.data.tag.Tag;
+
+public class FieldValidatorsTest {
+
+    /**
+     * Characters from every class the validators distinguish, including non-ASCII letters and digits,
+     * every line terminator, and an unpaired surrogate.
+     */
+    private static final char[] ALPHABET = {
+        'a', 'z', 'A', 'Z', '0', '9', '_', '.', '@', ' ', '-', '/', '\t', '\n', '\r', '\u0085',
+        (char) 0x2028, (char) 0x2029, '\u00e9', '\u0661', '\ud83d'
+    };
+
+    private static final List<String> TEST_STRINGS = generateTestStrings();
+
+    @Test
+    public void isLettersOrSpaces_sameAsNameRegex() {
+        assertSameAsRegex(Name.NAME_VALIDATION_REGEX, FieldValidators::isLettersOrSpaces);
+    }
+
+    @Test
+    public void isDigits_sameAsPhoneRegex() {
+        assertSameAsRegex(Phone.PHONE_VALIDATION_REGEX, FieldValidators::isDigits);
+    }
+
+    @Test
+    public void isWordsAtWords_sameAsEmailRegex() {
+        assertSameAsRegex(Email.EMAIL_VALIDATION_REGEX, FieldValidators::isWordsAtWords);
+    }
+
+    @Test
+    public void isSingleLine_sameAsAddressRegex() {
+        assertSameAsRegex(Address.ADDRESS_VALIDATION_REGEX, FieldValidators::isSingleLine);
+    }
+
+    @Test
+    public void isLettersOrDigits_sameAsTagRegex() {
+        assertSameAsRegex(Tag.TAG_VALIDATION_REGEX, FieldValidators::isLettersOrDigits);
+    }
+
+    private static void assertSameAsRegex(String regex, Predicate<String> validator) {
+        for (String test : TEST_STRINGS) {
+            assertEquals("Validating \"" + test + "\"", test.matches(regex), validator.test(test));
+        }
+    }
+
+    /**
+     * Returns every string of up to 3 characters from {@link #ALPHABET}, followed by longer random strings
+     * and typical field values.
+     */
+    private static List<String> generateTestStrings() {
+        final List<String> strings = new ArrayList<>();
+        strings.add("");
+        for (int i = 0; i < 3; i++) {
+            final int previousEnd = strings.size();
+            for (int j = previousEnd - (int) Math.pow(ALPHABET.length, i); j < previousEnd; j++) {
+                for (char c : ALPHABET) {
+                    strings.add(strings.get(j) + c);
+                }
+            }
+        }
+
+        final Random random = new Random(0);
+        for (int i = 0; i < 20000; i++) {
+            final StringBuilder builder = new StringBuilder();
+            final int length = 4 + random.nextInt(12);
+            for (int j = 0; j < length; j++) {
+                builder.append(ALPHABET[random.nextInt(ALPHABET.length)]);
+            }
+            strings.add(builder.toString());
+        }
+
+        strings.add(Name.EXAMPLE);
+        strings.add(Phone.EXAMPLE);
+        strings.add(Email.EXAMPLE);
+        strings.add(Address.EXAMPLE);
+        strings.add("john.doe_1@example.com.sg");
+        return strings;
+    }
+}
@@ -0,0 +1,36 @@
+package seedu.addressbook.data;
+
+import java.util.List;
+
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.person.UniquePersonList;
+import seedu.addressbook.util.Benchmark;
+
+/**
+ * Compares importing persons into an address book as one batch with {@link AddressBook#addAll} against adding them
+ * one at a time with {@link AddressBook#addPerson}, each of which is a change of its own.
+ */
+public class AddAllBenchmark {
+
+    private static final int EXISTING_COUNT = 100000;
+    private static final int IMPORTED_COUNT = 100000;
+
+    public static void main(String[] args) throws Exception {
+        final List<Person> persons = Benchmark.generatePersons(EXISTING_COUNT + IMPORTED_COUNT, 24);
+        final UniquePersonList existing = new UniquePersonList(persons.subList(0, EXISTING_COUNT));
+        final List<Person> imported = persons.subList(EXISTING_COUNT, EXISTING_COUNT + IMPORTED_COUNT);
+
+        Benchmark.time("Import " + IMPORTED_COUNT + " persons one at a time", () -> {
+            final AddressBook addressBook = new AddressBook(existing);
+            for (Person person : imported) {
+                addressBook.addPerson(person);
+            }
+            return addressBook;
+        });
+        Benchmark.time("Import " + IMPORTED_COUNT + " persons as one batch", () -> {
+            final AddressBook addressBook = new AddressBook(existing);
+            addressBook.addAll(imported);
+            return addressBook;
+        });
+    }
+}
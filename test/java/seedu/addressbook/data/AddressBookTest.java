@@ -1,14 +1,19 @@
 package seedu.addressbook.data;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static seedu.addressbook.util.TestUtil.getSize;
 import static seedu.addressbook.util.TestUtil.isEmpty;
 import static seedu.addressbook.util.TestUtil.isIdentical;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 
 import org.junit.Before;
 import org.junit.Rule;
@@ -19,7 +24,9 @@ import seedu.addressbook.data.person.Address;
 import seedu.addressbook.data.person.Email;
 import seedu.addressbook.data.person.Name;
 import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.person.PersonStore;
 import seedu.addressbook.data.person.Phone;
+import seedu.addressbook.data.person.ReadOnlyPerson;
 import seedu.addressbook.data.person.UniquePersonList;
 import seedu.addressbook.data.person.UniquePersonList.DuplicatePersonException;
 import seedu.addressbook.data.person.UniquePersonList.PersonNotFoundException;
@@ -84,6 +91,55 @@ public class AddressBookTest {
         defaultAddressBook.addPerson(aliceBetsy);
     }
 
+    @Test
+    public void addPerson_samePersonWithDifferentDetails_throwsDuplicatePersonException() throws Exception {
+        Person aliceWithNewEmail = new Person(aliceBetsy.getName(), aliceBetsy.getPhone(),
+                new Email("alice@example.com", false), aliceBetsy.getAddress(), aliceBetsy.getTags());
+        thrown.expect(DuplicatePersonException.class);
+        defaultAddressBook.addPerson(aliceWithNewEmail);
+    }
+
+    @Test
+    public void addPerson_personPreviouslyRemoved_addsNormally() throws Exception {
+        defaultAddressBook.removePerson(aliceBetsy);
+        defaultAddressBook.addPerson(aliceBetsy);
+
+        assertTrue(defaultAddressBook.containsPerson(aliceBetsy));
+        assertEquals(2, defaultAddressBook.size());
+    }
+
+    @Test
+    public void addAll_newPersons_addedInOrderAsOneChange() throws Exception {
+        long initialCount = defaultAddressBook.getModificationCount();
+        defaultAddressBook.addAll(Arrays.asList(davidElliot, charlieDouglas));
+
+        assertEquals(Arrays.asList("Alice Betsy", "Bob Chaplin", "David Elliot", "Charlie Douglas"),
+                getNames(defaultAddressBook));
+        assertTrue(defaultAddressBook.containsPerson(charlieDouglas));
+        assertEquals(initialCount + 1, defaultAddressBook.getModificationCount());
+    }
+
+    @Test
+    public void addAll_personAlreadyInList_throwsDuplicatePersonException() throws Exception {
+        thrown.expect(DuplicatePersonException.class);
+        defaultAddressBook.addAll(Arrays.asList(charlieDouglas, bobChaplin));
+    }
+
+    @Test
+    public void addAll_duplicateInBatch_noneAdded() throws Exception {
+        Person charlieWithNewEmail = new Person(charlieDouglas.getName(), charlieDouglas.getPhone(),
+                new Email("charlie@example.com", false), charlieDouglas.getAddress(), charlieDouglas.getTags());
+        long initialCount = defaultAddressBook.getModificationCount();
+        try {
+            defaultAddressBook.addAll(Arrays.asList(charlieDouglas, davidElliot, charlieWithNewEmail));
+            fail("A batch with a duplicate person should not be added");
+        } catch (DuplicatePersonException dpe) {
+            assertEquals(Arrays.asList("Alice Betsy", "Bob Chaplin"), getNames(defaultAddressBook));
+            assertFalse(defaultAddressBook.containsPerson(charlieDouglas));
+            assertEquals(initialCount, defaultAddressBook.getModificationCount());
+        }
+    }
+
     @Test
     public void containsPerson() throws Exception {
         UniquePersonList personsWhoShouldBeIn = new UniquePersonList(aliceBetsy, bobChaplin);
@@ -115,6 +171,54 @@ public class AddressBookTest {
 
     }
 
+    @Test
+    public void removePerson_manyPersonsRemoved_remainingPersonsKeepTheirOrder() throws Exception {
+        List<Person> persons = addManyPersons(emptyAddressBook, 100);
+
+        List<Person> remaining = new ArrayList<>();
+        for (int i = 0; i < persons.size(); i++) {
+            if (i % 3 == 0) {
+                remaining.add(persons.get(i));
+            } else {
+                emptyAddressBook.removePerson(persons.get(i));
+                assertFalse(emptyAddressBook.containsPerson(persons.get(i)));
+            }
+        }
+        emptyAddressBook.addPerson(persons.get(1));
+        remaining.add(persons.get(1));
+
+        assertEquals(new UniquePersonList(remaining), emptyAddressBook.getAllPersons());
+        assertEquals(remaining, emptyAddressBook.getAllPersons().immutableListView());
+    }
+
+    @Test
+    public void getAllPersons_personsRemovedAcrossChunks_viewSkipsRemovedPersons() throws Exception {
+        List<Person> persons = addManyPersons(emptyAddressBook, 3000);
+        List<Person> remaining = new ArrayList<>();
+        for (int i = 0; i < persons.size(); i++) {
+            if (i % 3 == 1 || (i >= 1000 && i < 1500)) {
+                emptyAddressBook.removePerson(persons.get(i));
+            } else {
+                remaining.add(persons.get(i));
+            }
+        }
+
+        List<ReadOnlyPerson> view = emptyAddressBook.getAllPersons().immutableListView();
+        assertEquals(remaining, view);
+        for (int i = remaining.size() - 1; i >= 0; i -= 7) {
+            assertSame(remaining.get(i), view.get(i));
+        }
+        assertEquals(remaining.subList(600, 1300), view.subList(600, 1300));
+    }
+
+    @Test
+    public void removePerson_samePersonWithDifferentDetails_throwsPersonNotFoundException() throws Exception {
+        Person aliceWithNewEmail = new Person(aliceBetsy.getName(), aliceBetsy.getPhone(),
+                new Email("alice@example.com", false), aliceBetsy.getAddress(), aliceBetsy.getTags());
+        thrown.expect(PersonNotFoundException.class);
+        defaultAddressBook.removePerson(aliceWithNewEmail);
+    }
+
     @Test
     public void removePerson_personNotExists_throwsPersonNotFoundException() throws Exception {
         thrown.expect(PersonNotFoundException.class);
@@ -128,6 +232,161 @@ public class AddressBookTest {
         assertTrue(isEmpty(defaultAddressBook.getAllPersons()));
     }
 
+    @Test
+    public void getModificationCount_countsChangesButNotReads() throws Exception {
+        long initialCount = defaultAddressBook.getModificationCount();
+
+        defaultAddressBook.containsPerson(aliceBetsy);
+        defaultAddressBook.getAllPersons();
+        assertEquals(initialCount, defaultAddressBook.getModificationCount());
+
+        defaultAddressBook.addPerson(charlieDouglas);
+        defaultAddressBook.removePerson(aliceBetsy);
+        defaultAddressBook.clear();
+        assertEquals(initialCount + 3, defaultAddressBook.getModificationCount());
+    }
+
+    @Test
+    public void getAllPersons_addressBookChangedAfterwards_returnedListUnchanged() throws Exception {
+        List<Person> persons = addManyPersons(emptyAddressBook, 3000);
+        UniquePersonList snapshot = emptyAddressBook.getAllPersons();
+
+        emptyAddressBook.removePerson(persons.get(0));
+        emptyAddressBook.removePerson(persons.get(2999));
+        emptyAddressBook.addPerson(aliceBetsy);
+        assertEquals(new UniquePersonList(persons), snapshot);
+        assertTrue(snapshot.contains(persons.get(0)));
+        assertFalse(snapshot.contains(aliceBetsy));
+
+        snapshot.clear();
+        snapshot.add(bobChaplin);
+        assertEquals(2999, emptyAddressBook.size());
+        assertTrue(emptyAddressBook.containsPerson(aliceBetsy));
+        assertFalse(emptyAddressBook.containsPerson(bobChaplin));
+    }
+
+    @Test
+    public void findPersonsWithTags_anyAndAllTags_foundInOrder() throws Exception {
+        defaultAddressBook.addPerson(charlieDouglas);
+        defaultAddressBook.addPerson(davidElliot);
+
+        assertEquals(Arrays.asList(aliceBetsy, bobChaplin, davidElliot),
+                defaultAddressBook.findPersonsWithAnyTag(Arrays.asList(tagMathematician, tagEconomist)));
+        assertEquals(Collections.singletonList(davidElliot),
+                defaultAddressBook.findPersonsWithAllTags(Arrays.asList(tagEconomist, tagPrizeWinner)));
+        assertEquals(Collections.emptyList(),
+                defaultAddressBook.findPersonsWithAllTags(Arrays.asList(tagMathematician, tagEconomist)));
+
+        defaultAddressBook.removePerson(aliceBetsy);
+        assertEquals(Collections.singletonList(bobChaplin),
+                defaultAddressBook.findPersonsWithAnyTag(Collections.singleton(tagMathematician)));
+    }
+
+    @Test
+    public void setPersonTags_personExists_tagsReplacedAndIndexed() throws Exception {
+        UniquePersonList snapshot = defaultAddressBook.getAllPersons();
+
+        defaultAddressBook.setPersonTags(aliceBetsy, Collections.singleton(tagScientist));
+
+        assertEquals(Collections.singletonList(bobChaplin),
+                defaultAddressBook.findPersonsWithAnyTag(Collections.singleton(tagMathematician)));
+        assertEquals(Collections.singleton(tagScientist),
+                defaultAddressBook.findPersonsWithAnyTag(Collections.singleton(tagScientist)).get(0).getTags());
+        assertEquals(Collections.singleton(tagMathematician), snapshot.iterator().next().getTags());
+        assertEquals(Arrays.asList("Alice Betsy", "Bob Chaplin"), getNames(defaultAddressBook));
+    }
+
+    @Test
+    public void setPersonTags_personNotExists_throwsPersonNotFoundException() throws Exception {
+        thrown.expect(PersonNotFoundException.class);
+        defaultAddressBook.setPersonTags(charlieDouglas, Collections.emptySet());
+    }
+
+    @Test
+    public void getCurrentVersion_afterChanges_newVersionPublishedEachTime() throws Exception {
+        AddressBook.Version initial = defaultAddressBook.getCurrentVersion();
+        assertEquals(defaultAddressBook.getModificationCount(), initial.getNumber());
+
+        defaultAddressBook.addPerson(charlieDouglas);
+        defaultAddressBook.removePerson(aliceBetsy);
+        AddressBook.Version latest = defaultAddressBook.getCurrentVersion();
+
+        assertEquals(initial.getNumber() + 2, latest.getNumber());
+        assertEquals(new UniquePersonList(aliceBetsy, bobChaplin), initial.getAllPersons());
+        assertTrue(initial.containsPerson(aliceBetsy));
+        assertFalse(initial.containsPerson(charlieDouglas));
+        assertEquals(new UniquePersonList(bobChaplin, charlieDouglas), latest.getAllPersons());
+        assertTrue(latest.containsPerson(charlieDouglas));
+        assertEquals(2, latest.getPersonStore().size());
+    }
+
+    @Test
+    public void getCurrentVersion_afterChanges_earlierVersionKeepsItsNameOrder() throws Exception {
+        AddressBook.Version initial = defaultAddressBook.getCurrentVersion();
+
+        defaultAddressBook.addPerson(charlieDouglas);
+        defaultAddressBook.removePerson(aliceBetsy);
+        defaultAddressBook.addPerson(davidElliot);
+
+        assertEquals(Arrays.asList(aliceBetsy, bobChaplin), initial.getPersonsSortedByName(0, 10));
+        assertEquals(Arrays.asList(bobChaplin, charlieDouglas, davidElliot),
+                defaultAddressBook.getCurrentVersion().getPersonsSortedByName(0, 10));
+        assertEquals(Collections.singletonList(charlieDouglas), defaultAddressBook.getPersonsSortedByName(1, 1));
+    }
+
+    @Test
+    public void getCurrentVersion_failedChange_noNewVersion() throws Exception {
+        AddressBook.Version initial = defaultAddressBook.getCurrentVersion();
+        try {
+            defaultAddressBook.addPerson(aliceBetsy);
+        } catch (DuplicatePersonException dpe) {
+            // expected, as covered by addPerson_personAlreadyInList_throwsDuplicatePersonException
+        }
+        assertSame(initial, defaultAddressBook.getCurrentVersion());
+    }
+
+    @Test
+    public void changeListener_notifiedOfChange_changeAlreadyPublished() throws Exception {
+        List<Boolean> isPublished = new ArrayList<>();
+        defaultAddressBook.setChangeListener(new AddressBook.ChangeListener() {
+            @Override
+            public void personAdded(Person added) {
+                isPublished.add(defaultAddressBook.getCurrentVersion().containsPerson(added));
+            }
+
+            @Override
+            public void personRemoved(ReadOnlyPerson removed) {
+                isPublished.add(!defaultAddressBook.getCurrentVersion().containsPerson(removed));
+            }
+
+            @Override
+            public void cleared() {
+                isPublished.add(defaultAddressBook.getCurrentVersion().size() == 0);
+            }
+        });
+
+        defaultAddressBook.addPerson(charlieDouglas);
+        defaultAddressBook.removePerson(aliceBetsy);
+        defaultAddressBook.clear();
+        assertEquals(Arrays.asList(true, true, true), isPublished);
+    }
+
+    @Test
+    public void getPersonStore_afterChanges_sameAsNewStore() throws Exception {
+        List<Person> persons = addManyPersons(emptyAddressBook, 3000);
+        PersonStore initial = emptyAddressBook.getPersonStore();
+
+        emptyAddressBook.removePerson(persons.get(10));
+        emptyAddressBook.setPersonTags(persons.get(2500), Collections.singleton(tagScientist));
+        emptyAddressBook.addPerson(charlieDouglas);
+        PersonStore latest = emptyAddressBook.getPersonStore();
+
+        assertEquals(3000, initial.size());
+        assertEquals(new PersonStore(emptyAddressBook.getAllPersons()).filter(row -> true),
+                latest.filter(row -> true));
+        assertTrue(latest.hasTag(2499, tagScientist));
+    }
+
     @Test
     public void getAllPersons() throws Exception {
         UniquePersonList allPersons = defaultAddressBook.getAllPersons();
@@ -135,4 +394,30 @@ public class AddressBookTest {
 
         assertTrue(isIdentical(allPersons, personsToCheck));
     }
+
+    private static List<String> getNames(AddressBook addressBook) {
+        List<String> names = new ArrayList<>();
+        for (Person person : addressBook.getAllPersons()) {
+            names.add(person.getName().fullName);
+        }
+        return names;
+    }
+
+    /**
+     * Adds {@code count} distinct persons to {@code addressBook}, and returns them in the order they were added.
+     */
+    private static List<Person> addManyPersons(AddressBook addressBook, int count) throws Exception {
+        List<Person> persons = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Person person = new Person(new Name("Person " + (char) ('a' + i % 26) + (char) ('a' + i / 26 % 26)
+                                                + (char) ('a' + i / 676)),
+                                       new Phone(Integer.toString(90000000 + i), false),
+                                       new Email("person" + i + "@example.com", false),
+                                       new Address(i + " Example Street", false),
+                                       Collections.emptySet());
+            persons.add(person);
+            addressBook.addPerson(person);
+        }
+        return persons;
+    }
 }
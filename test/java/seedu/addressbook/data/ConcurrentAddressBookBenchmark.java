@@ -0,0 +1,137 @@
+package seedu.addressbook.data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.person.Phone;
+import seedu.addressbook.data.person.ReadOnlyPerson;
+import seedu.addressbook.data.person.UniquePersonList;
+import seedu.addressbook.data.person.UniquePersonList.DuplicatePersonException;
+import seedu.addressbook.data.person.UniquePersonList.PersonNotFoundException;
+import seedu.addressbook.util.Benchmark;
+
+/**
+ * Compares the throughput of {@link ConcurrentAddressBook} against an {@link AddressBook} guarded by a single
+ * monitor, under a mix of lookups and occasional writes from an increasing number of threads.
+ * The total number of operations is the same for every thread count, so that the times can be compared.
+ */
+public class ConcurrentAddressBookBenchmark {
+
+    private static final int PERSON_COUNT = 200000;
+    private static final int OPERATION_COUNT = 400000;
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8};
+
+    /** One operation in this many is a write; the rest are split evenly between the two kinds of lookup. */
+    private static final int WRITE_INTERVAL = 50;
+
+    /** Number of extra persons each thread adds and removes, so that the writes of threads never conflict. */
+    private static final int PERSONS_PER_WRITER = 16;
+
+    /** An address book whose every operation used here holds its monitor, the simplest way to share it. */
+    private static class SynchronizedAddressBook extends AddressBook {
+
+        SynchronizedAddressBook(UniquePersonList persons) {
+            super(persons);
+        }
+
+        @Override
+        public synchronized void addPerson(Person toAdd) throws DuplicatePersonException {
+            super.addPerson(toAdd);
+        }
+
+        @Override
+        public synchronized void removePerson(ReadOnlyPerson toRemove) throws PersonNotFoundException {
+            super.removePerson(toRemove);
+        }
+
+        @Override
+        public synchronized boolean containsPerson(ReadOnlyPerson key) {
+            return super.containsPerson(key);
+        }
+
+        @Override
+        public synchronized List<ReadOnlyPerson> findPersonsByPhone(Phone phone) {
+            return super.findPersonsByPhone(phone);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        final List<Person> persons = Benchmark.generatePersons(PERSON_COUNT + THREAD_COUNTS[THREAD_COUNTS.length - 1]
+                * PERSONS_PER_WRITER, 21);
+        final UniquePersonList loaded = new UniquePersonList(persons.subList(0, PERSON_COUNT));
+        System.out.println("Available processors: " + Runtime.getRuntime().availableProcessors());
+
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            for (int threadCount : THREAD_COUNTS) {
+                final AddressBook synchronizedBook = new SynchronizedAddressBook(loaded);
+                final AddressBook concurrentBook = new ConcurrentAddressBook(loaded);
+                report("Mixed operations on a synchronized address book, " + threadCount + " threads",
+                        executor, synchronizedBook, persons, threadCount);
+                report("Mixed operations on a concurrent address book, " + threadCount + " threads",
+                        executor, concurrentBook, persons, threadCount);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void report(String label, ExecutorService executor, AddressBook addressBook, List<Person> persons,
+            int threadCount) throws Exception {
+        final double millis = Benchmark.time(label, () -> runThreads(executor, addressBook, persons, threadCount));
+        System.out.println(String.format("%-60s %10.0f ops/ms", "", OPERATION_COUNT / millis));
+    }
+
+    /**
+     * Runs {@value #OPERATION_COUNT} operations on {@code addressBook}, split between {@code threadCount} threads,
+     * and returns the number of lookups that found a person.
+     */
+    private static Object runThreads(ExecutorService executor, AddressBook addressBook, List<Person> persons,
+            int threadCount) throws Exception {
+        final List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            final int thread = t;
+            results.add(executor.submit(() -> runOperations(addressBook, persons, thread,
+                    OPERATION_COUNT / threadCount)));
+        }
+        int foundCount = 0;
+        for (Future<Integer> result : results) {
+            foundCount += result.get();
+        }
+        return foundCount;
+    }
+
+    private static int runOperations(AddressBook addressBook, List<Person> persons, int thread, int operationCount)
+            throws Exception {
+        final Random random = new Random(thread);
+        final List<Person> added = new ArrayList<>();
+        int foundCount = 0;
+        for (int i = 0; i < operationCount; i++) {
+            if (i % WRITE_INTERVAL == 0) {
+                if (added.size() < PERSONS_PER_WRITER) {
+                    final Person toAdd = persons.get(PERSON_COUNT + thread * PERSONS_PER_WRITER + added.size());
+                    addressBook.addPerson(toAdd);
+                    added.add(toAdd);
+                } else {
+                    addressBook.removePerson(added.remove(added.size() - 1));
+                }
+            } else if (i % 2 == 0) {
+                if (addressBook.containsPerson(persons.get(random.nextInt(PERSON_COUNT)))) {
+                    foundCount++;
+                }
+            } else {
+                foundCount += addressBook.findPersonsByPhone(persons.get(random.nextInt(PERSON_COUNT)).getPhone())
+                        .size();
+            }
+        }
+        for (Person person : added) {
+            addressBook.removePerson(person);
+        }
+        return foundCount;
+    }
+}
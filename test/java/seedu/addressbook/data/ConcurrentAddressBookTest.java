@@ -0,0 +1,137 @@
+package seedu.addressbook.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+import seedu.addressbook.data.person.Address;
+import seedu.addressbook.data.person.Email;
+import seedu.addressbook.data.person.Name;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.person.Phone;
+import seedu.addressbook.data.person.ReadOnlyPerson;
+import seedu.addressbook.data.person.UniquePersonList;
+import seedu.addressbook.util.TypicalPersons;
+
+public class ConcurrentAddressBookTest {
+
+    private final TypicalPersons td = new TypicalPersons();
+
+    @Test
+    public void constructor_existingPersons_sameAsAddressBook() throws Exception {
+        AddressBook typical = td.getTypicalAddressBook();
+        ConcurrentAddressBook concurrent = new ConcurrentAddressBook(typical.getAllPersons());
+
+        assertEquals(typical, concurrent);
+        assertTrue(concurrent.containsPerson(td.amy));
+        assertEquals(Collections.singletonList(td.bill), concurrent.findPersonsByPhone(td.bill.getPhone()));
+
+        concurrent.removePerson(td.amy);
+        assertFalse(concurrent.containsPerson(td.amy));
+        assertTrue(typical.containsPerson(td.amy));
+    }
+
+    @Test
+    public void writesFromSeveralThreads_noChangeLost() throws Exception {
+        ConcurrentAddressBook addressBook = new ConcurrentAddressBook();
+        List<Long> notifiedVersions = Collections.synchronizedList(new ArrayList<>());
+        addressBook.setChangeListener(new AddressBook.ChangeListener() {
+            @Override
+            public void personAdded(Person added) {
+                notifiedVersions.add(addressBook.getCurrentVersion().getNumber());
+            }
+
+            @Override
+            public void personRemoved(ReadOnlyPerson removed) {}
+
+            @Override
+            public void cleared() {}
+        });
+
+        ExecutorService writers = Executors.newFixedThreadPool(4);
+        List<Future<?>> results = new ArrayList<>();
+        for (int w = 0; w < 4; w++) {
+            final int writer = w;
+            results.add(writers.submit(() -> {
+                for (int i = 0; i < 250; i++) {
+                    addressBook.addPerson(new Person(new Name("Person " + (char) ('a' + writer)),
+                                                     new Phone(Integer.toString(90000000 + writer * 1000 + i), false),
+                                                     new Email("person" + i + "@example.com", false),
+                                                     new Address(i + " Example Street", false),
+                                                     Collections.emptySet()));
+                }
+                return null;
+            }));
+        }
+        for (Future<?> result : results) {
+            result.get();
+        }
+        writers.shutdown();
+        assertTrue(writers.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(1000, addressBook.size());
+        assertEquals(1000, addressBook.getModificationCount());
+        assertEquals(1000, notifiedVersions.size());
+        for (int i = 0; i < notifiedVersions.size(); i++) {
+            assertEquals(i + 1, (long) notifiedVersions.get(i));
+        }
+    }
+
+    @Test
+    public void readsDuringWrites_readersSeeConsistentSnapshots() throws Exception {
+        ConcurrentAddressBook addressBook = new ConcurrentAddressBook();
+        List<Person> persons = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            persons.add(new Person(new Name("Person " + (char) ('a' + i % 26) + (char) ('a' + i / 26 % 26)
+                                             + (char) ('a' + i / 676)),
+                                   new Phone(Integer.toString(90000000 + i), false),
+                                   new Email("person" + i + "@example.com", false),
+                                   new Address(i + " Example Street", false),
+                                   Collections.emptySet()));
+        }
+
+        ExecutorService readers = Executors.newFixedThreadPool(3);
+        AtomicBoolean isWriting = new AtomicBoolean(true);
+        List<Future<?>> results = new ArrayList<>();
+        for (int r = 0; r < 3; r++) {
+            results.add(readers.submit(() -> {
+                while (isWriting.get()) {
+                    UniquePersonList snapshot = addressBook.getAllPersons();
+                    int count = 0;
+                    for (Person person : snapshot) {
+                        assertEquals(persons.get(count), person);
+                        count++;
+                    }
+                    assertEquals(snapshot.size(), count);
+                    if (count > 0) {
+                        assertTrue(addressBook.containsPerson(persons.get(count - 1)));
+                    }
+                }
+                return null;
+            }));
+        }
+
+        for (Person person : persons) {
+            addressBook.addPerson(person);
+        }
+        isWriting.set(false);
+        for (Future<?> result : results) {
+            result.get();
+        }
+        readers.shutdown();
+        assertTrue(readers.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(new UniquePersonList(persons), addressBook.getAllPersons());
+    }
+}
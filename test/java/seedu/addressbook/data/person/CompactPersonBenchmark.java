@@ -0,0 +1,49 @@
+package seedu.addressbook.data.person;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import seedu.addressbook.util.Benchmark;
+
+/**
+ * Compares the heap taken by persons kept as {@link Person} objects and as {@link CompactPerson}s,
+ * and the time taken to compare each person with an equal copy in both forms.
+ */
+public class CompactPersonBenchmark {
+
+    private static final int PERSON_COUNT = 300000;
+
+    public static void main(String[] args) throws Exception {
+        Benchmark.measureRetainedMemory("Heap for " + PERSON_COUNT + " persons",
+                () -> Benchmark.generatePersons(PERSON_COUNT, 16));
+        Benchmark.measureRetainedMemory("Heap for " + PERSON_COUNT + " compact persons",
+                () -> toCompactPersons(Benchmark.generatePersons(PERSON_COUNT, 16)));
+
+        final List<Person> persons = Benchmark.generatePersons(PERSON_COUNT, 16);
+        final List<Person> copies = Benchmark.generatePersons(PERSON_COUNT, 16);
+        final List<CompactPerson> compactPersons = toCompactPersons(persons);
+        final List<CompactPerson> compactCopies = toCompactPersons(copies);
+        Benchmark.time("Compare " + PERSON_COUNT + " persons with equal copies", () -> {
+            int sameCount = 0;
+            for (int i = 0; i < PERSON_COUNT; i++) {
+                sameCount += persons.get(i).hasSameData(copies.get(i)) ? 1 : 0;
+            }
+            return sameCount;
+        });
+        Benchmark.time("Compare " + PERSON_COUNT + " compact persons with equal copies", () -> {
+            int sameCount = 0;
+            for (int i = 0; i < PERSON_COUNT; i++) {
+                sameCount += compactPersons.get(i).hasSameData(compactCopies.get(i)) ? 1 : 0;
+            }
+            return sameCount;
+        });
+    }
+
+    private static List<CompactPerson> toCompactPersons(List<Person> persons) {
+        final List<CompactPerson> compactPersons = new ArrayList<>(persons.size());
+        for (Person person : persons) {
+            compactPersons.add(new CompactPerson(person));
+        }
+        return compactPersons;
+    }
+}
@@ -0,0 +1,73 @@
+package seedu.addressbook.data.person;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.Test;
+
+import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.util.TypicalPersons;
+
+public class CompactPersonTest {
+
+    private final TypicalPersons td = new TypicalPersons();
+
+    @Test
+    public void constructor_typicalPersons_sameDetails() {
+        for (Person person : td.getTypicalPersons()) {
+            CompactPerson compact = new CompactPerson(person);
+
+            assertEquals(person.getName(), compact.getName());
+            assertEquals(person.getPhone(), compact.getPhone());
+            assertEquals(person.getPhone().isPrivate(), compact.getPhone().isPrivate());
+            assertEquals(person.getEmail(), compact.getEmail());
+            assertEquals(person.getEmail().isPrivate(), compact.getEmail().isPrivate());
+            assertEquals(person.getAddress(), compact.getAddress());
+            assertEquals(person.getAddress().isPrivate(), compact.getAddress().isPrivate());
+            assertEquals(person.getTags(), compact.getTags());
+            assertEquals(person.getAsTextShowAll(), compact.getAsTextShowAll());
+        }
+    }
+
+    @Test
+    public void equalsAndHashCode_samePersonAsPerson_equal() throws Exception {
+        Person person = new Person(new Name("Esther Potato"), new Phone("555555", false),
+                new Email("esther@not.a.real.potato", true), new Address("555, epsilon street", true),
+                new HashSet<>(Arrays.asList(new Tag("tubers"), new Tag("starchy"))));
+        CompactPerson compact = new CompactPerson(person);
+
+        assertTrue(compact.equals(person));
+        assertTrue(person.equals(compact));
+        assertTrue(compact.equals(new CompactPerson(person)));
+        assertEquals(person.hashCode(), compact.hashCode());
+        assertEquals(person, compact.toPerson());
+    }
+
+    @Test
+    public void hasSameData_differentPrivacy_sameResultAsPerson() throws Exception {
+        Person privateAmy = new Person(td.amy.getName(), new Phone(td.amy.getPhone().value, true),
+                new Email(td.amy.getEmail().value, true), new Address(td.amy.getAddress().value, true),
+                td.amy.getTags());
+
+        assertEquals(td.amy.hasSameData(privateAmy), new CompactPerson(td.amy).hasSameData(
+                new CompactPerson(privateAmy)));
+        assertEquals(td.amy.equals(privateAmy), new CompactPerson(td.amy).equals(new CompactPerson(privateAmy)));
+    }
+
+    @Test
+    public void isSamePersonAndHasSameData_differentDetails() throws Exception {
+        CompactPerson amy = new CompactPerson(td.amy);
+        CompactPerson amyWithNewEmail = new CompactPerson(new Person(td.amy.getName(), td.amy.getPhone(),
+                new Email("amy@example.com", false), td.amy.getAddress(), td.amy.getTags()));
+        CompactPerson bill = new CompactPerson(td.bill);
+
+        assertTrue(amy.isSamePerson(amyWithNewEmail));
+        assertFalse(amy.hasSameData(amyWithNewEmail));
+        assertFalse(amy.isSamePerson(bill));
+        assertTrue(amy.isSamePerson(td.amy));
+    }
+}
@@ -0,0 +1,71 @@
+package seedu.addressbook.data.person;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+public class NameIndexTest {
+
+    @Test
+    public void getRange_afterAddsAndRemoves_personsInNameOrder() throws Exception {
+        NameIndex index = new NameIndex();
+        List<Person> persons = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            String name = (i % 2 == 0 ? "person " : "Person ") + (char) ('a' + i % 26);
+            Person person = new Person(new Name(name), new Phone(String.valueOf(1000 + i), false),
+                    new Email("p" + i + "@example.com", false), new Address("street " + i, false),
+                    Collections.emptySet());
+            persons.add(person);
+        }
+        List<Person> shuffled = new ArrayList<>(persons);
+        Collections.shuffle(shuffled);
+        for (Person person : shuffled) {
+            index.add(person);
+        }
+        for (int i = 0; i < 200; i += 3) {
+            index.remove(persons.get(i));
+        }
+
+        List<Person> expected = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            if (i % 3 != 0) {
+                expected.add(persons.get(i));
+            }
+        }
+        expected.sort(NameIndex.NAME_ORDER);
+
+        assertEquals(expected.size(), index.size());
+        assertEquals(expected, index.getRange(0, Integer.MAX_VALUE));
+        assertEquals(expected.subList(0, 10), index.getRange(0, 10));
+        assertEquals(expected.subList(57, 77), index.getRange(57, 20));
+        assertEquals(expected.subList(expected.size() - 3, expected.size()), index.getRange(expected.size() - 3, 10));
+        assertEquals(Collections.emptyList(), index.getRange(expected.size(), 10));
+    }
+
+    @Test
+    public void copy_bothModifiedAfterCopy_eachSeesOnlyItsOwnChanges() throws Exception {
+        List<Person> persons = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            persons.add(new Person(new Name("Person " + (char) ('a' + i)), new Phone(String.valueOf(1000 + i), false),
+                    new Email("p" + i + "@example.com", false), new Address("street " + i, false),
+                    Collections.emptySet()));
+        }
+        NameIndex original = new NameIndex();
+        original.add(persons.get(2));
+        original.add(persons.get(0));
+
+        NameIndex copy = new NameIndex(original);
+        original.add(persons.get(1));
+        copy.remove(persons.get(0));
+        copy.add(persons.get(3));
+
+        assertEquals(Arrays.asList(persons.get(0), persons.get(1), persons.get(2)),
+                original.getRange(0, Integer.MAX_VALUE));
+        assertEquals(Arrays.asList(persons.get(2), persons.get(3)), copy.getRange(0, Integer.MAX_VALUE));
+    }
+}
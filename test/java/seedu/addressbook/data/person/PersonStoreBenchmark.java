@@ -0,0 +1,39 @@
+package seedu.addressbook.data.person;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import seedu.addressbook.util.Benchmark;
+
+/**
+ * Compares finding persons by name words through a {@link PersonStore} scan against the scan over {@link Person}
+ * objects that {@code FindCommand} used to do.
+ */
+public class PersonStoreBenchmark {
+
+    private static final int PERSON_COUNT = 500000;
+
+    public static void main(String[] args) throws Exception {
+        final List<Person> persons = Benchmark.generatePersons(PERSON_COUNT, 17);
+        final PersonStore store = new PersonStore(persons);
+        final Set<String> keywords = new HashSet<>(persons.get(PERSON_COUNT / 2).getName().getWordsInName());
+        keywords.add(persons.get(PERSON_COUNT / 3).getName().getWordsInName().get(0));
+
+        Benchmark.time("Find by " + keywords.size() + " name words in " + PERSON_COUNT + " persons", () -> {
+            final List<ReadOnlyPerson> found = new ArrayList<>();
+            for (Person person : persons) {
+                final Set<String> wordsInName = new HashSet<>(person.getName().getWordsInName());
+                if (!Collections.disjoint(wordsInName, keywords)) {
+                    found.add(person);
+                }
+            }
+            return found;
+        });
+        Benchmark.time("Find by " + keywords.size() + " name words in a store of " + PERSON_COUNT + " persons",
+                () -> store.findByNameWords(keywords));
+        Benchmark.time("Build a store of " + PERSON_COUNT + " persons", () -> new PersonStore(persons));
+    }
+}
@@ -0,0 +1,84 @@
+package seedu.addressbook.data.person;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.util.TypicalPersons;
+
+public class PersonStoreTest {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    private final TypicalPersons td = new TypicalPersons();
+
+    @Test
+    public void getPerson_typicalPersons_sameDetails() {
+        PersonStore store = new PersonStore(Arrays.asList(td.getTypicalPersons()));
+
+        assertEquals(td.getTypicalPersons().length, store.size());
+        for (int row = 0; row < store.size(); row++) {
+            Person person = td.getTypicalPersons()[row];
+            ReadOnlyPerson view = store.getPerson(row);
+
+            assertTrue(view.hasSameData(person));
+            assertEquals(person.getPhone().isPrivate(), view.getPhone().isPrivate());
+            assertEquals(person.getEmail().isPrivate(), view.getEmail().isPrivate());
+            assertEquals(person.getAddress().isPrivate(), view.getAddress().isPrivate());
+            assertEquals(person.getAsTextShowAll(), view.getAsTextShowAll());
+            assertEquals(person.hashCode(), view.hashCode());
+        }
+    }
+
+    @Test
+    public void getPerson_invalidRow_exceptionThrown() {
+        PersonStore store = new PersonStore();
+        store.add(td.amy);
+
+        thrown.expect(IndexOutOfBoundsException.class);
+        store.getPerson(1);
+    }
+
+    @Test
+    public void findByNameWords_matchesWholeWordsOnly() {
+        PersonStore store = new PersonStore(Arrays.asList(td.getTypicalPersons()));
+
+        List<ReadOnlyPerson> found = store.findByNameWords(Arrays.asList("Amy", "Bill"));
+        assertEquals(Arrays.asList(td.amy, td.bill), found);
+
+        assertEquals(Collections.emptyList(), store.findByNameWords(Collections.singletonList("Am")));
+        assertEquals(Collections.emptyList(), store.findByNameWords(Collections.singletonList("amy")));
+    }
+
+    @Test
+    public void filter_byTag_onlyTaggedPersons() throws Exception {
+        PersonStore store = new PersonStore(Arrays.asList(td.getTypicalPersons()));
+        Tag tag = new Tag("test");
+
+        assertEquals(Collections.singletonList(td.dan), store.filter(row -> store.hasTag(row, tag)));
+        assertFalse(store.hasTag(0, tag));
+        assertTrue(store.hasNameWord(3, "Smith"));
+    }
+
+    @Test
+    public void hasTag_tagNotInStore_falseAndTagsUnchanged() throws Exception {
+        PersonStore store = new PersonStore(Arrays.asList(td.getTypicalPersons()));
+
+        for (int row = 0; row < store.size(); row++) {
+            assertFalse(store.hasTag(row, new Tag("unused")));
+        }
+        for (int row = 0; row < store.size(); row++) {
+            assertEquals(td.getTypicalPersons()[row].getTags(), store.getPerson(row).getTags());
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package seedu.addressbook.data.person;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import org.junit.Test;
+
+public class PhoneIndexTest {
+
+    @Test
+    public void toKey_leadingZeros_distinctKeys() {
+        assertNotEquals(PhoneIndex.toKey("123"), PhoneIndex.toKey("0123"));
+        assertNotEquals(PhoneIndex.toKey("0"), PhoneIndex.toKey("00"));
+        assertEquals(-1, PhoneIndex.toKey("1234567890123456789"));
+    }
+
+    @Test
+    public void getRows_sharedAndOverlongPhones_allRowsFound() {
+        PhoneIndex index = new PhoneIndex();
+        String overlong = "12345678901234567890";
+        index.put("123", 2);
+        index.put("0123", 1);
+        index.put("123", 0);
+        index.put(overlong, 3);
+        index.put(overlong, 4);
+
+        assertArrayEquals(new int[] {0, 2}, index.getRows("123"));
+        assertArrayEquals(new int[] {1}, index.getRows("0123"));
+        assertArrayEquals(new int[] {3, 4}, index.getRows(overlong));
+        assertArrayEquals(new int[0], index.getRows("00123"));
+        assertEquals(4, index.findRow(overlong, row -> row > 3));
+        assertEquals(-1, index.findRow("123", row -> row == 1));
+    }
+
+    @Test
+    public void remove_manyRows_remainingRowsStillFound() {
+        PhoneIndex index = new PhoneIndex();
+        for (int row = 0; row < 1000; row++) {
+            index.put(String.valueOf(row % 100), row);
+        }
+        for (int row = 0; row < 1000; row += 2) {
+            index.remove(String.valueOf(row % 100), row);
+        }
+
+        for (int phone = 0; phone < 100; phone++) {
+            int[] rows = index.getRows(String.valueOf(phone));
+            assertEquals(phone % 2 == 0 ? 0 : 10, rows.length);
+            for (int row : rows) {
+                assertEquals(phone, row % 100);
+            }
+        }
+    }
+
+    @Test
+    public void copy_bothModifiedAfterCopy_eachSeesOnlyItsOwnChanges() {
+        PhoneIndex original = new PhoneIndex();
+        String overlong = "12345678901234567890";
+        for (int row = 0; row < 1000; row++) {
+            original.put(String.valueOf(row), row);
+        }
+        original.put(overlong, 1000);
+
+        PhoneIndex copy = new PhoneIndex(original);
+        original.remove("5", 5);
+        for (int row = 1001; row < 3000; row++) {
+            copy.put(String.valueOf(row), row);
+        }
+        copy.remove("7", 7);
+        copy.remove(overlong, 1000);
+
+        assertArrayEquals(new int[0], original.getRows("5"));
+        assertArrayEquals(new int[] {7}, original.getRows("7"));
+        assertArrayEquals(new int[] {1000}, original.getRows(overlong));
+        assertArrayEquals(new int[0], original.getRows("2500"));
+        assertArrayEquals(new int[] {5}, copy.getRows("5"));
+        assertArrayEquals(new int[0], copy.getRows("7"));
+        assertArrayEquals(new int[0], copy.getRows(overlong));
+        assertArrayEquals(new int[] {2500}, copy.getRows("2500"));
+    }
+}
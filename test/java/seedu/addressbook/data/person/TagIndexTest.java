@@ -0,0 +1,57 @@
+package seedu.addressbook.data.person;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import seedu.addressbook.data.tag.Tag;
+
+public class TagIndexTest {
+
+    @Test
+    public void getRows_anyAndAllTags_ascendingRows() throws Exception {
+        Tag friends = new Tag("friends");
+        Tag colleagues = new Tag("colleagues");
+        Tag unused = new Tag("unused");
+        TagIndex index = new TagIndex();
+        index.add(Arrays.asList(friends, colleagues), 5);
+        index.add(Collections.singleton(friends), 3);
+        index.add(Collections.singleton(colleagues), 0);
+        index.add(Arrays.asList(friends, colleagues), 1);
+
+        assertArrayEquals(new int[] {1, 3, 5}, index.getRowsWithAny(Collections.singleton(friends)));
+        assertArrayEquals(new int[] {0, 1, 3, 5}, index.getRowsWithAny(Arrays.asList(friends, colleagues, unused)));
+        assertArrayEquals(new int[] {1, 5}, index.getRowsWithAll(Arrays.asList(friends, colleagues)));
+        assertArrayEquals(new int[0], index.getRowsWithAll(Arrays.asList(friends, unused)));
+        assertArrayEquals(new int[0], index.getRowsWithAll(Collections.emptySet()));
+
+        index.remove(Arrays.asList(friends, colleagues), 1);
+        assertArrayEquals(new int[] {5}, index.getRowsWithAll(Arrays.asList(friends, colleagues)));
+        assertArrayEquals(new int[] {0, 3, 5}, index.getRowsWithAny(Arrays.asList(friends, colleagues)));
+    }
+
+    @Test
+    public void copy_bothModifiedAfterCopy_eachSeesOnlyItsOwnChanges() throws Exception {
+        Tag friends = new Tag("friends");
+        Tag colleagues = new Tag("colleagues");
+        TagIndex original = new TagIndex();
+        for (int row = 0; row < 3000; row += 3) {
+            original.add(Collections.singleton(friends), row);
+        }
+
+        TagIndex copy = new TagIndex(original);
+        original.remove(Collections.singleton(friends), 0);
+        copy.add(Arrays.asList(friends, colleagues), 2000);
+
+        assertEquals(999, original.getRowsWithAny(Collections.singleton(friends)).length);
+        assertArrayEquals(new int[0], original.getRowsWithAny(Collections.singleton(colleagues)));
+        int[] copyRows = copy.getRowsWithAny(Collections.singleton(friends));
+        assertEquals(1001, copyRows.length);
+        assertEquals(0, copyRows[0]);
+        assertArrayEquals(new int[] {2000}, copy.getRowsWithAll(Arrays.asList(friends, colleagues)));
+    }
+}
@@ -0,0 +1,60 @@
+package seedu.addressbook.data.tag;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.person.ReadOnlyPerson;
+import seedu.addressbook.data.person.UniquePersonList;
+import seedu.addressbook.storage.AddressBookEncoder;
+import seedu.addressbook.util.Benchmark;
+
+/**
+ * Compares reading and comparing the tags of persons through their shared {@link TagSet} against doing the same
+ * through a defensive {@code HashSet} copy of the tags, which is what {@code Person#getTags} used to return.
+ * Also times the paths that read the tags of every person in a large address book: encoding it for saving, and
+ * formatting it for listing.
+ */
+public class TagSetBenchmark {
+
+    private static final int PERSON_COUNT = 200000;
+
+    public static void main(String[] args) throws Exception {
+        final List<Person> persons = Benchmark.generatePersons(PERSON_COUNT, 14);
+        final List<Person> copies = Benchmark.generatePersons(PERSON_COUNT, 14);
+        final AddressBook addressBook = new AddressBook(new UniquePersonList(persons));
+
+        Benchmark.time("Compare tags of " + PERSON_COUNT + " persons through HashSet copies", () -> {
+            int equalCount = 0;
+            for (int i = 0; i < PERSON_COUNT; i++) {
+                final Set<Tag> tags = new HashSet<>(persons.get(i).getTags());
+                if (tags.equals(new HashSet<>(copies.get(i).getTags()))) {
+                    equalCount += tags.hashCode() & 1;
+                }
+            }
+            return equalCount;
+        });
+        Benchmark.time("Compare tags of " + PERSON_COUNT + " persons through shared tag sets", () -> {
+            int equalCount = 0;
+            for (int i = 0; i < PERSON_COUNT; i++) {
+                final Set<Tag> tags = persons.get(i).getTags();
+                if (tags.equals(copies.get(i).getTags())) {
+                    equalCount += tags.hashCode() & 1;
+                }
+            }
+            return equalCount;
+        });
+
+        Benchmark.time("Encode an address book of " + PERSON_COUNT + " persons for saving",
+                () -> AddressBookEncoder.encodeAddressBook(addressBook));
+        Benchmark.time("Format " + PERSON_COUNT + " persons for listing, hiding private details", () -> {
+            int length = 0;
+            for (ReadOnlyPerson person : addressBook.getAllPersons()) {
+                length += person.getAsTextHidePrivate().length();
+            }
+            return length;
+        });
+    }
+}
@@ -0,0 +1,67 @@
+package seedu.addressbook.data.tag;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class TagSetTest {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void of_unsortedTagsWithDuplicates_sortedByNameWithoutDuplicates() throws Exception {
+        TagSet tags = TagSet.of(Arrays.asList(new Tag("school"), new Tag("friends"), new Tag("school")));
+
+        assertEquals(Arrays.asList(new Tag("friends"), new Tag("school")), new ArrayList<>(tags));
+    }
+
+    @Test
+    public void of_tagSetOrEmpty_noCopyMade() throws Exception {
+        TagSet tags = TagSet.of(Collections.singleton(new Tag("friends")));
+
+        assertSame(tags, TagSet.of(tags));
+        assertSame(TagSet.EMPTY, TagSet.of(Collections.emptySet()));
+    }
+
+    @Test
+    public void equalsAndHashCode_sameTagsAsHashSet_equal() throws Exception {
+        Set<Tag> hashSet = new HashSet<>(Arrays.asList(new Tag("criminal"), new Tag("friend")));
+        TagSet tags = TagSet.of(hashSet);
+
+        assertEquals(hashSet, tags);
+        assertEquals(tags, hashSet);
+        assertEquals(hashSet.hashCode(), tags.hashCode());
+        assertEquals(tags, TagSet.of(new ArrayList<>(hashSet)));
+    }
+
+    @Test
+    public void contains() throws Exception {
+        List<Tag> tagList = Arrays.asList(new Tag("b"), new Tag("d"), new Tag("a"));
+        TagSet tags = TagSet.of(tagList);
+
+        for (Tag tag : tagList) {
+            assertTrue(tags.contains(tag));
+        }
+        assertFalse(tags.contains(new Tag("c")));
+        assertFalse(tags.contains("a"));
+    }
+
+    @Test
+    public void add_anyTag_throwsUnsupportedOperationException() throws Exception {
+        thrown.expect(UnsupportedOperationException.class);
+        TagSet.of(Collections.singleton(new Tag("friends"))).add(new Tag("school"));
+    }
+}
@@ -0,0 +1,51 @@
+package seedu.addressbook.data.tag;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import seedu.addressbook.data.exception.IllegalValueException;
+
+public class TagTest {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void of_sameName_sameInstance() throws Exception {
+        Tag tag = Tag.of("colleagues");
+
+        assertSame(tag, Tag.of("colleagues"));
+        assertSame(tag, Tag.of(" colleagues "));
+        assertSame(tag, Tag.intern(new Tag("colleagues")));
+        assertEquals("colleagues", tag.tagName);
+    }
+
+    @Test
+    public void of_invalidName_exceptionThrown() throws Exception {
+        thrown.expect(IllegalValueException.class);
+        Tag.of("not valid");
+    }
+
+    @Test
+    public void constructor_sameName_distinctButEqualInstances() throws Exception {
+        Tag tag = new Tag("neighbours");
+
+        assertNotSame(tag, new Tag("neighbours"));
+        assertEquals(tag, new Tag("neighbours"));
+    }
+
+    @Test
+    public void tagSetOf_newTags_canonicalTagsUsed() throws Exception {
+        Tag canonical = Tag.of("family");
+        TagSet tags = TagSet.of(Arrays.asList(new Tag("family")));
+
+        assertSame(canonical, tags.iterator().next());
+    }
+}
@@ -1,11 +1,13 @@
 package seedu.addressbook.parser;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static seedu.addressbook.common.Messages.MESSAGE_INVALID_COMMAND_FORMAT;
 import static seedu.addressbook.common.Messages.MESSAGE_INVALID_PERSON_DISPLAYED_INDEX;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -18,6 +20,8 @@ import seedu.addressbook.commands.Command;
 import seedu.addressbook.commands.DeleteCommand;
 import seedu.addressbook.commands.ExitCommand;
 import seedu.addressbook.commands.FindCommand;
+import seedu.addressbook.commands.FindPhoneCommand;
+import seedu.addressbook.commands.FindTagCommand;
 import seedu.addressbook.commands.HelpCommand;
 import seedu.addressbook.commands.IncorrectCommand;
 import seedu.addressbook.commands.ListCommand;
@@ -81,6 +85,42 @@ public class ParserTest {
         parseAndAssertCommandType(input, ListCommand.class);
     }
 
+    @Test
+    public void parse_listCommandInvalidArgs_errorMessage() {
+        final String[] inputs = {
+            "list sort/phone",
+            "list page/",
+            "list page/0",
+            "list size/-1",
+            "list page/two",
+            "list page/1 page/2",
+            "list sort/name sort/name",
+            "list name"
+        };
+        final String resultMessage = String.format(MESSAGE_INVALID_COMMAND_FORMAT, ListCommand.MESSAGE_USAGE);
+        parseAndAssertIncorrectWithMessage(resultMessage, inputs);
+    }
+
+    @Test
+    public void parse_listCommandValidArgs_parsedCorrectly() {
+        final ListCommand sorted = parseAndAssertCommandType("list sort/name", ListCommand.class);
+        assertTrue(sorted.isSortedByName());
+
+        final ListCommand paged = parseAndAssertCommandType("list size/20 sort/name page/3", ListCommand.class);
+        assertTrue(paged.isSortedByName());
+        assertEquals(3, paged.getPageNumber());
+        assertEquals(20, paged.getPageSize());
+
+        final ListCommand defaultSize = parseAndAssertCommandType("list page/2", ListCommand.class);
+        assertFalse(defaultSize.isSortedByName());
+        assertEquals(2, defaultSize.getPageNumber());
+        assertEquals(ListCommand.DEFAULT_PAGE_SIZE, defaultSize.getPageSize());
+
+        final ListCommand firstPage = parseAndAssertCommandType("list size/5", ListCommand.class);
+        assertEquals(1, firstPage.getPageNumber());
+        assertEquals(5, firstPage.getPageSize());
+    }
+
     @Test
     public void parse_exitCommand_parsedCorrectly() {
         final String input = "exit";
@@ -197,6 +237,62 @@ public class ParserTest {
         assertEquals(keySet, result.getKeywords());
     }
 
+    /*
+     * Tests for find persons by phone command =============================================================
+     */
+
+    @Test
+    public void parse_findPhoneCommandInvalidArgs_errorMessage() {
+        final String[] inputs = {
+            "findphone",
+            "findphone ",
+            "findphone 123 456",
+            "findphone abc"
+        };
+        final String resultMessage =
+                String.format(MESSAGE_INVALID_COMMAND_FORMAT, FindPhoneCommand.MESSAGE_USAGE);
+        parseAndAssertIncorrectWithMessage(resultMessage, inputs);
+    }
+
+    @Test
+    public void parse_findPhoneCommandValidArgs_parsedCorrectly() {
+        final FindPhoneCommand result = parseAndAssertCommandType("findphone 0123", FindPhoneCommand.class);
+        assertEquals("0123", result.getPhone().value);
+    }
+
+    /*
+     * Tests for find persons by tag command ===============================================================
+     */
+
+    @Test
+    public void parse_findTagCommandInvalidArgs_errorMessage() {
+        final String[] inputs = {
+            "findtag",
+            "findtag ",
+            "findtag all/",
+            "findtag t/friends"
+        };
+        final String resultMessage =
+                String.format(MESSAGE_INVALID_COMMAND_FORMAT, FindTagCommand.MESSAGE_USAGE);
+        parseAndAssertIncorrectWithMessage(resultMessage, inputs);
+        parseAndAssertIncorrectWithMessage(Tag.MESSAGE_TAG_CONSTRAINTS, "findtag friends not-valid");
+    }
+
+    @Test
+    public void parse_findTagCommandValidArgs_parsedCorrectly() throws Exception {
+        final Set<Tag> tags = new HashSet<>(Arrays.asList(new Tag("friends"), new Tag("colleagues")));
+
+        final FindTagCommand anyResult = parseAndAssertCommandType("findtag friends colleagues friends",
+                FindTagCommand.class);
+        assertEquals(tags, anyResult.getTags());
+        assertFalse(anyResult.isAllTagsRequired());
+
+        final FindTagCommand allResult = parseAndAssertCommandType("findtag all/ friends  colleagues",
+                FindTagCommand.class);
+        assertEquals(tags, allResult.getTags());
+        assertTrue(allResult.isAllTagsRequired());
+    }
+
     /*
      * Tests for add person command ==============================================================================
      */
@@ -255,6 +351,21 @@ public class ParserTest {
         assertEquals(result.getPerson(), testPerson);
     }
 
+    @Test
+    public void parse_addCommandSeveralPersons_parsedCorrectly() throws IllegalValueException {
+        final Person testPerson = generateTestPerson();
+        final Person otherPerson = new Person(new Name("Other Person"), new Phone("98765432", false),
+                new Email("other@example.com", false), new Address("1 Other Street", false), Collections.emptySet());
+        final String input = convertPersonToAddCommandString(testPerson) + " // "
+                + convertPersonToAddCommandString(otherPerson).substring("add ".length());
+
+        final AddCommand result = parseAndAssertCommandType(input, AddCommand.class);
+        assertEquals(Arrays.asList(testPerson, otherPerson), result.getPersons());
+
+        final String resultMessage = String.format(MESSAGE_INVALID_COMMAND_FORMAT, AddCommand.MESSAGE_USAGE);
+        parseAndAssertIncorrectWithMessage(resultMessage, input + " //", "add // " + input.substring("add ".length()));
+    }
+
     @Test
     public void parse_addCommandDuplicateTags_merged() throws IllegalValueException {
         final Person testPerson = generateTestPerson();
@@ -318,6 +429,6 @@ public class ParserTest {
     private <T extends Command> T parseAndAssertCommandType(String input, Class<T> expectedCommandClass) {
         final Command result = parser.parseCommand(input);
         assertTrue(result.getClass().isAssignableFrom(expectedCommandClass));
-        return (T) result;
+        return expectedCommandClass.cast(result);
     }
 }
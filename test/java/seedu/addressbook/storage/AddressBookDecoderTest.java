@@ -0,0 +1,124 @@
+package seedu.addressbook.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.storage.StorageFile.StorageOperationException;
+
+public class AddressBookDecoderTest {
+
+    private static final int NUMBER_OF_LINES = 200;
+
+    @Test
+    public void decodeAddressBook_inChunks_sameAsSequentialDecoding() throws Exception {
+        List<String> lines = getValidLines();
+        AddressBook expected = AddressBookDecoder.decodeAddressBook(lines);
+
+        for (int chunkCount : new int[] {1, 3, 7, NUMBER_OF_LINES * 2}) {
+            AddressBook actual = AddressBookDecoder.decodeAddressBook(toBuffer(lines, "\n"), chunkCount);
+            assertEquals(expected.getAllPersons(), actual.getAllPersons());
+        }
+        AddressBook withCarriageReturns = AddressBookDecoder.decodeAddressBook(toBuffer(lines, "\r\n"), 5);
+        assertEquals(expected.getAllPersons(), withCarriageReturns.getAllPersons());
+    }
+
+    @Test
+    public void decodeAddressBook_fromChannelInSmallBlocks_sameAsDecodingReader() throws Exception {
+        List<String> lines = getValidLines();
+        for (String lineSeparator : new String[] {"\n", "\r\n", "\r"}) {
+            String encoded = String.join(lineSeparator, lines);
+            AddressBook expected = AddressBookDecoder.decodeAddressBook(new BufferedReader(new StringReader(encoded)));
+            for (int blockSize : new int[] {16, 97, 1000, 1 << 20}) {
+                for (String ending : new String[] {"", lineSeparator}) {
+                    AddressBook actual =
+                            AddressBookDecoder.decodeAddressBook(toChannel(encoded + ending), 3, blockSize);
+                    assertEquals(expected.getAllPersons(), actual.getAllPersons());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void decodeAddressBook_invalidLineInLaterBlock_lineNumberReported() throws Exception {
+        List<String> lines = getValidLines();
+        lines.set(150, "Invalid person p/not a phone e/valid@e.mail a/valid address");
+
+        try {
+            AddressBookDecoder.decodeAddressBook(toChannel(String.join("\r", lines)), 2, 500);
+            fail("an invalid line should not be decoded");
+        } catch (StorageOperationException soe) {
+            assertTrue(soe.getMessage().startsWith("Line 151 "));
+        }
+    }
+
+    @Test
+    public void decodeAddressBook_invalidLineInChunks_lineNumberReported() throws Exception {
+        List<String> lines = getValidLines();
+        lines.set(136, "Invalid person p/not a phone e/valid@e.mail a/valid address");
+
+        assertInvalidLineReported(lines, 137);
+    }
+
+    @Test
+    public void decodeAddressBook_duplicatePersonInChunks_lineNumberReported() throws Exception {
+        List<String> lines = getValidLines();
+        lines.set(180, lines.get(3));
+
+        assertInvalidLineReported(lines, 181);
+    }
+
+    @Test
+    public void decodeAddressBook_invalidLineInReader_lineNumberReported() throws Exception {
+        List<String> lines = getValidLines();
+        lines.set(41, "Invalid person without any prefixes");
+
+        try {
+            AddressBookDecoder.decodeAddressBook(new BufferedReader(new StringReader(String.join("\n", lines))));
+            fail("an invalid line should not be decoded");
+        } catch (StorageOperationException soe) {
+            assertTrue(soe.getMessage().startsWith("Line 42 "));
+        }
+    }
+
+    private void assertInvalidLineReported(List<String> lines, int lineNumber) {
+        for (int chunkCount : new int[] {1, 4, 9}) {
+            try {
+                AddressBookDecoder.decodeAddressBook(toBuffer(lines, "\n"), chunkCount);
+                fail("an invalid line should not be decoded");
+            } catch (StorageOperationException soe) {
+                assertTrue(soe.getMessage().startsWith("Line " + lineNumber + " "));
+            }
+        }
+    }
+
+    private static List<String> getValidLines() {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < NUMBER_OF_LINES; i++) {
+            lines.add("John Doe " + (char) ('a' + i % 26) + " p/" + (90000000 + i) + " pe/john" + i + "@gmail.com"
+                    + " a/" + i + " John street" + (i % 3 == 0 ? " t/friend t/colleague" : ""));
+        }
+        return lines;
+    }
+
+    private static ReadableByteChannel toChannel(String encoded) {
+        return Channels.newChannel(new ByteArrayInputStream(encoded.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static ByteBuffer toBuffer(List<String> lines, String lineSeparator) {
+        return ByteBuffer.wrap((String.join(lineSeparator, lines) + lineSeparator).getBytes(StandardCharsets.UTF_8));
+    }
+}
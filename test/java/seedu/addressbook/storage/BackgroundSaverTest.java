@@ -0,0 +1,148 @@
+package seedu.addressbook.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.storage.StorageFile.StorageOperationException;
+import seedu.addressbook.util.TypicalPersons;
+
+public class BackgroundSaverTest {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private final TypicalPersons td = new TypicalPersons();
+    private StorageFile storage;
+    private BackgroundSaver saver;
+
+    @Before
+    public void setUp() throws Exception {
+        storage = new StorageFile(testFolder.getRoot().getPath() + "/temp.txt", true);
+        saver = new BackgroundSaver(storage);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        try {
+            saver.stop();
+        } catch (StorageOperationException soe) {
+            // expected for the tests of failed saves
+        }
+    }
+
+    @Test
+    public void flush_manySubmits_latestDataSaved() throws Exception {
+        AddressBook ab = new AddressBook();
+        saver.submit(ab);
+        for (Person person : td.getTypicalPersons()) {
+            ab.addPerson(person);
+            saver.submit(ab);
+        }
+        ab.removePerson(td.amy);
+        saver.submit(ab);
+        saver.flush();
+
+        assertEquals(ab.getAllPersons(), new StorageFile(storage.getPath(), true).load().getAllPersons());
+    }
+
+    @Test
+    public void flush_changedAfterSubmit_submittedDataSaved() throws Exception {
+        AddressBook ab = td.getTypicalAddressBook();
+        saver.submit(ab);
+        AddressBook submitted = new AddressBook(ab.getAllPersons());
+        ab.clear();
+        saver.flush();
+
+        assertEquals(submitted.getAllPersons(), new StorageFile(storage.getPath(), true).load().getAllPersons());
+    }
+
+    @Test
+    public void submit_earlierSaveFailed_failureReportedOnceAndDataRewritten() throws Exception {
+        saver.stop();
+        Path directory = testFolder.getRoot().toPath().resolve("missing");
+        StorageFile failingStorage = new StorageFile(directory.resolve("temp.txt").toString(), true);
+        AddressBook ab = failingStorage.load();
+        saver = new BackgroundSaver(failingStorage);
+        ab.addPerson(td.amy);
+        saver.submit(ab);
+        try {
+            saver.flush();
+            fail("a save to a missing directory should fail");
+        } catch (StorageOperationException soe) {
+            // the failure is reported to the caller that waits for the save
+        }
+
+        Files.createDirectories(directory);
+        ab.addPerson(td.bill);
+        saver.submit(ab);
+        saver.flush();
+
+        assertEquals(ab.getAllPersons(), new StorageFile(failingStorage.getPath(), true).load().getAllPersons());
+    }
+
+    @Test
+    public void submit_earlierSaveFailed_exceptionThrownAndSaveStillScheduled() throws Exception {
+        saver.stop();
+        Path directory = testFolder.getRoot().toPath().resolve("missing");
+        StorageFile failingStorage = new StorageFile(directory.resolve("temp.txt").toString(), true);
+        AddressBook ab = failingStorage.load();
+        saver = new BackgroundSaver(failingStorage);
+        ab.addPerson(td.amy);
+        saver.submit(ab);
+        waitForFailure();
+
+        Files.createDirectories(directory);
+        ab.addPerson(td.bill);
+        try {
+            saver.submit(ab);
+            fail("the earlier failure should be reported");
+        } catch (StorageOperationException soe) {
+            // reported, and the save is scheduled regardless
+        }
+        saver.flush();
+
+        assertEquals(ab.getAllPersons(), new StorageFile(failingStorage.getPath(), true).load().getAllPersons());
+    }
+
+    @Test
+    public void stop_earlierSaveFailed_allDataRewritten() throws Exception {
+        saver.stop();
+        Path directory = testFolder.getRoot().toPath().resolve("missing");
+        StorageFile failingStorage = new StorageFile(directory.resolve("temp.txt").toString(), true);
+        AddressBook ab = failingStorage.load();
+        saver = new BackgroundSaver(failingStorage);
+        ab.addPerson(td.amy);
+        saver.submit(ab);
+        waitForFailure();
+
+        Files.createDirectories(directory);
+        ab.addPerson(td.bill);
+        saver.stop();
+
+        assertEquals(ab.getAllPersons(), new StorageFile(failingStorage.getPath(), true).load().getAllPersons());
+    }
+
+    /**
+     * Waits until a save has failed, without taking the failure.
+     */
+    private void waitForFailure() throws Exception {
+        while (!saver.hasUnreportedFailure()) {
+            Thread.sleep(10);
+        }
+    }
+}
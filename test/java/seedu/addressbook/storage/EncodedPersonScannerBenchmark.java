@@ -0,0 +1,60 @@
+package seedu.addressbook.storage;
+
+import static seedu.addressbook.parser.Parser.PERSON_DATA_ARGS_FORMAT;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.util.Benchmark;
+
+/**
+ * Compares splitting encoded persons into their fields with {@link EncodedPersonScanner} against matching them
+ * with {@link seedu.addressbook.parser.Parser#PERSON_DATA_ARGS_FORMAT} as the decoder used to.
+ */
+public class EncodedPersonScannerBenchmark {
+
+    private static final int PERSON_COUNT = 200000;
+
+    public static void main(String[] args) throws Exception {
+        final List<String> encodedPersons = new ArrayList<>();
+        for (Person person : Benchmark.generatePersons(PERSON_COUNT, 5)) {
+            encodedPersons.add(AddressBookEncoder.encodePersonToString(person));
+        }
+
+        Benchmark.time("Split " + PERSON_COUNT + " encoded persons with the regex", () -> {
+            int fieldLength = 0;
+            for (String encodedPerson : encodedPersons) {
+                final Matcher matcher = PERSON_DATA_ARGS_FORMAT.matcher(encodedPerson);
+                if (!matcher.matches()) {
+                    throw new AssertionError(encodedPerson);
+                }
+                fieldLength += matcher.group("name").length() + matcher.group("phone").length()
+                        + matcher.group("email").length() + matcher.group("address").length();
+                final String tagArguments = matcher.group("tagArguments");
+                if (!tagArguments.isEmpty()) {
+                    for (String tag : tagArguments.replaceFirst(" t/", "").split(" t/")) {
+                        fieldLength += tag.length();
+                    }
+                }
+            }
+            return fieldLength;
+        });
+        Benchmark.time("Split " + PERSON_COUNT + " encoded persons with the scanner", () -> {
+            int fieldLength = 0;
+            for (String encodedPerson : encodedPersons) {
+                final EncodedPersonScanner scanner = new EncodedPersonScanner(encodedPerson);
+                if (!scanner.matches()) {
+                    throw new AssertionError(encodedPerson);
+                }
+                fieldLength += scanner.getName().length() + scanner.getPhone().length()
+                        + scanner.getEmail().length() + scanner.getAddress().length();
+                for (int i = 0; i < scanner.getTagCount(); i++) {
+                    fieldLength += scanner.getTag(i).length();
+                }
+            }
+            return fieldLength;
+        });
+    }
+}
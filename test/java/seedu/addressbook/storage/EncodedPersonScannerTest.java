@@ -0,0 +1,130 @@
+package seedu.addressbook.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static seedu.addressbook.parser.Parser.PERSON_DATA_ARGS_FORMAT;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+
+import org.junit.Test;
+
+public class EncodedPersonScannerTest {
+
+    @Test
+    public void scan_validEncodedPersons_fieldsFound() {
+        EncodedPersonScanner scanner = new EncodedPersonScanner(
+                "Betsy Crowe pp/1234567 e/betsycrowe@gmail.com pa/Newgate Prison t/friend t/criminal");
+
+        assertTrue(scanner.matches());
+        assertEquals("Betsy Crowe", scanner.getName());
+        assertEquals("1234567", scanner.getPhone());
+        assertTrue(scanner.isPhonePrivate());
+        assertEquals("betsycrowe@gmail.com", scanner.getEmail());
+        assertFalse(scanner.isEmailPrivate());
+        assertEquals("Newgate Prison", scanner.getAddress());
+        assertTrue(scanner.isAddressPrivate());
+        assertEquals(Arrays.asList("friend", "criminal"), getTags(scanner));
+    }
+
+    @Test
+    public void scan_invalidEncodedPersons_noMatch() {
+        final String[] invalidEncodedPersons = {
+            "",
+            "John Doe",
+            "John Doe p/123 e/a@b.c",
+            "John Doe 123 e/a@b.c a/street",
+            "p/123 e/a@b.c a/street",
+            "John Doe p/123 e/a@b.c a/",
+            "John Doe p/123 e/a@b.c a/street t/",
+            "John Doe p/123 e/a@b.c a/street t/friend t/",
+            "John Doe p/123 e/a@b.c a/street t/friend/",
+            "John Doe p/123 e/a@b.c a/street tt/friend",
+            "John Doe ppp/123 e/a@b.c a/street",
+        };
+        for (String invalidEncodedPerson : invalidEncodedPersons) {
+            assertFalse(invalidEncodedPerson, new EncodedPersonScanner(invalidEncodedPerson).matches());
+        }
+    }
+
+    @Test
+    public void scan_randomStrings_sameResultAsRegex() {
+        final Random random = new Random(2018);
+        for (int i = 0; i < 100000; i++) {
+            assertSameResultAsRegex(generateNearlyEncodedPerson(random));
+        }
+    }
+
+    /**
+     * Generates a string that follows the encoded person format with random short fields made of
+     * the characters significant to the format, and then is sometimes corrupted at a random position.
+     */
+    private static String generateNearlyEncodedPerson(Random random) {
+        final String[][] prefixes = {{" p/", " pp/"}, {" e/", " pe/"}, {" a/", " pa/"}};
+        final StringBuilder builder = new StringBuilder(generateField(random));
+        for (String[] prefix : prefixes) {
+            builder.append(prefix[random.nextInt(2)]).append(generateField(random));
+        }
+        final int tagCount = random.nextInt(4);
+        for (int i = 0; i < tagCount; i++) {
+            builder.append(" t/").append(generateField(random));
+        }
+
+        if (random.nextBoolean() && builder.length() > 0) {
+            final char[] corruptions = {' ', 'p', 't', '/', 'x'};
+            final int position = random.nextInt(builder.length());
+            if (random.nextBoolean()) {
+                builder.deleteCharAt(position);
+            } else {
+                builder.insert(position, corruptions[random.nextInt(corruptions.length)]);
+            }
+        }
+        return builder.toString();
+    }
+
+    private static String generateField(Random random) {
+        final char[] alphabet = {' ', 'p', 'e', 'a', 't', 'x', 'x', 'x'};
+        final StringBuilder builder = new StringBuilder();
+        final int length = random.nextInt(5);
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet[random.nextInt(alphabet.length)]);
+        }
+        return builder.toString();
+    }
+
+    private static void assertSameResultAsRegex(String encodedPerson) {
+        final Matcher matcher = PERSON_DATA_ARGS_FORMAT.matcher(encodedPerson);
+        final EncodedPersonScanner scanner = new EncodedPersonScanner(encodedPerson);
+
+        assertEquals(encodedPerson, matcher.matches(), scanner.matches());
+        if (!scanner.matches()) {
+            return;
+        }
+        assertEquals(encodedPerson, matcher.group("name"), scanner.getName());
+        assertEquals(encodedPerson, matcher.group("phone"), scanner.getPhone());
+        assertEquals(encodedPerson, "p".equals(matcher.group("isPhonePrivate")), scanner.isPhonePrivate());
+        assertEquals(encodedPerson, matcher.group("email"), scanner.getEmail());
+        assertEquals(encodedPerson, "p".equals(matcher.group("isEmailPrivate")), scanner.isEmailPrivate());
+        assertEquals(encodedPerson, matcher.group("address"), scanner.getAddress());
+        assertEquals(encodedPerson, "p".equals(matcher.group("isAddressPrivate")), scanner.isAddressPrivate());
+
+        final String tagArguments = matcher.group("tagArguments");
+        final List<String> expectedTags = tagArguments.isEmpty()
+                ? Collections.emptyList()
+                : Arrays.asList(tagArguments.replaceFirst(" t/", "").split(" t/"));
+        assertEquals(encodedPerson, expectedTags, getTags(scanner));
+    }
+
+    private static List<String> getTags(EncodedPersonScanner scanner) {
+        final List<String> tags = new ArrayList<>();
+        for (int i = 0; i < scanner.getTagCount(); i++) {
+            tags.add(scanner.getTag(i));
+        }
+        return tags;
+    }
+}
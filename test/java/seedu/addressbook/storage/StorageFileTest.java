@@ -1,11 +1,20 @@
 package seedu.addressbook.storage;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -75,6 +84,25 @@ public class StorageFileTest {
         assertFileDoesNotExist(TEST_DATA_FOLDER + "/" + NON_EXISTANT_FILE_NAME);
     }
 
+    @Test
+    public void load_largeFile_sameAsDecodingLines() throws Exception {
+        // large enough for the file to be read and decoded in blocks rather than line by line
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; lines.size() < 20000; i++) {
+            lines.add("John Doe p/" + (90000000 + i) + " e/johnd@gmail.com a/John street, block 123, #01-01 t/friend");
+        }
+        StorageFile storage = getTempStorage();
+        Files.write(Paths.get(storage.getPath()), lines);
+
+        AddressBook loaded = storage.load();
+        assertEquals(AddressBookDecoder.decodeAddressBook(lines).getAllPersons(), loaded.getAllPersons());
+
+        // the file is not held open, so it can be replaced on every platform
+        loaded.removePerson(loaded.getAllPersons().immutableListView().get(0));
+        storage.save(loaded);
+        assertEquals(loaded.getAllPersons(), storage.load().getAllPersons());
+    }
+
     @Test
     public void save_nullAddressBook_exceptionThrown() throws Exception {
         StorageFile storage = getTempStorage();
@@ -91,8 +119,291 @@ public class StorageFileTest {
         assertStorageFilesEqual(storage, getStorage("ValidData.txt"));
     }
 
+    @Test
+    public void save_journalEnabled_onlyJournalIsWritten() throws Exception {
+        StorageFile storage = getTempStorage(true);
+        AddressBook ab = getTestAddressBook();
+        storage.save(ab);
+
+        ab.removePerson(ab.getAllPersons().immutableListView().get(0));
+        ab.addPerson(getExtraPerson());
+        storage.save(ab);
+
+        assertStorageFilesEqual(storage, getStorage("ValidData.txt"));
+        assertTrue(Files.exists(Paths.get(storage.getPath() + JournalFile.JOURNAL_FILE_SUFFIX)));
+    }
+
+    @Test
+    public void load_journalEnabled_journalIsReplayed() throws Exception {
+        StorageFile storage = getTempStorage(true);
+        AddressBook ab = getTestAddressBook();
+        storage.save(ab);
+
+        ab.removePerson(ab.getAllPersons().immutableListView().get(0));
+        ab.addPerson(getExtraPerson());
+        storage.save(ab);
+
+        AddressBook actualAB = getTempStorage(true).load();
+        assertEquals(ab.getAllPersons(), actualAB.getAllPersons());
+
+        ab.clear();
+        storage.save(ab);
+        assertEquals(new AddressBook(), getTempStorage(true).load());
+    }
+
+    @Test
+    public void save_binaryFormat_loadsSameAddressBook() throws Exception {
+        AddressBook ab = getTestAddressBook();
+        StorageFile storage = new StorageFile(testFolder.getRoot().getPath() + "/" + "temp.abb");
+        storage.save(ab);
+
+        assertEquals(ab.getAllPersons(), storage.load().getAllPersons());
+    }
+
+    @Test
+    public void load_binaryFormatWithTextData_exceptionThrown() throws Exception {
+        String filePath = testFolder.getRoot().getPath() + "/" + "temp.abb";
+        Files.copy(Paths.get(TEST_DATA_FOLDER, "ValidData.txt"), Paths.get(filePath));
+
+        thrown.expect(StorageOperationException.class);
+        new StorageFile(filePath).load();
+    }
+
+    @Test
+    public void convert_textToBinaryAndBack_sameTextFile() throws Exception {
+        String binaryFilePath = testFolder.getRoot().getPath() + "/" + "temp.abb";
+        StorageConverter.convert(TEST_DATA_FOLDER + "/" + "ValidData.txt", binaryFilePath);
+        StorageConverter.convert(binaryFilePath, getTempStorage().getPath());
+
+        assertStorageFilesEqual(getTempStorage(), getStorage("ValidData.txt"));
+    }
+
+    @Test
+    public void save_syncPolicies_syncedAsConfigured() throws Exception {
+        AddressBook ab = getTestAddressBook();
+        assertEquals(0, getSyncCountAfterSaves(ab, SyncPolicy.NEVER, 6));
+        assertEquals(6, getSyncCountAfterSaves(ab, SyncPolicy.ALWAYS, 6));
+        assertEquals(2, getSyncCountAfterSaves(ab, SyncPolicy.every(3, Long.MAX_VALUE), 6));
+    }
+
+    @Test
+    public void save_existingFile_replacedWithoutTempFileLeftBehind() throws Exception {
+        StorageFile storage = getTempStorage();
+        storage.save(new AddressBook());
+        storage.save(getTestAddressBook());
+
+        assertStorageFilesEqual(storage, getStorage("ValidData.txt"));
+        assertEquals(1, testFolder.getRoot().list().length);
+    }
+
+    @Test
+    public void load_journalLeftBehindByCrash_replayedWithoutDuplicates() throws Exception {
+        StorageFile storage = getTempStorage(true);
+        AddressBook ab = getTestAddressBook();
+        storage.save(ab);
+        ab.addPerson(getExtraPerson());
+        storage.save(ab);
+
+        // a crash after the storage file was rewritten, but before the journal was deleted
+        Path journalPath = Paths.get(storage.getPath() + JournalFile.JOURNAL_FILE_SUFFIX);
+        List<String> journal = Files.readAllLines(journalPath);
+        getTempStorage().save(ab);
+        // a crash in the middle of appending a journal entry
+        Files.write(journalPath, journal);
+        Files.write(journalPath, "add Incomplete Entry p/1".getBytes(), StandardOpenOption.APPEND);
+
+        assertEquals(ab.getAllPersons(), getTempStorage(true).load().getAllPersons());
+    }
+
+    @Test
+    public void save_afterReplayingIncompleteEntry_appendedEntryStartsOnNewLine() throws Exception {
+        StorageFile storage = getTempStorage(true);
+        AddressBook ab = getTestAddressBook();
+        storage.save(ab);
+        ab.addPerson(getExtraPerson());
+        storage.save(ab);
+
+        // a crash in the middle of appending a journal entry
+        Path journalPath = Paths.get(storage.getPath() + JournalFile.JOURNAL_FILE_SUFFIX);
+        Files.write(journalPath, "add Jo".getBytes(), StandardOpenOption.APPEND);
+
+        StorageFile reloadedStorage = getTempStorage(true);
+        AddressBook reloaded = reloadedStorage.load();
+        reloaded.addPerson(new Person(new Name("Bob"), new Phone("444444", false),
+                new Email("bob@example.com", false), new Address("4 Bob Street", false), Collections.emptySet()));
+        reloadedStorage.save(reloaded);
+
+        assertEquals(reloaded.getAllPersons(), getTempStorage(true).load().getAllPersons());
+        for (String entry : Files.readAllLines(journalPath)) {
+            assertFalse(entry.contains("Jo"));
+        }
+    }
+
+    @Test
+    public void constructor_nonPositiveShardCount_exceptionThrown() throws Exception {
+        thrown.expect(IllegalValueException.class);
+        getShardedStorage(0);
+    }
+
+    @Test
+    public void load_shardedStorage_allShardsLoaded() throws Exception {
+        AddressBook ab = getTestAddressBook();
+        ab.addPerson(getExtraPerson());
+        getShardedStorage(4).save(ab);
+
+        assertSamePersons(ab, getShardedStorage(4).load());
+    }
+
+    @Test
+    public void save_shardedStorageChanged_onlyChangedShardRewritten() throws Exception {
+        StorageFile storage = getShardedStorage(4);
+        AddressBook ab = storage.load();
+        storage.save(ab);
+        Person extra = getExtraPerson();
+        ab.addPerson(extra);
+        int changedShard = StorageShards.getShardIndex(extra, 4);
+        for (int i = 0; i < 4; i++) {
+            Files.write(getShardPath(storage, i), new byte[0]);
+        }
+        storage.save(ab);
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i == changedShard, Files.size(getShardPath(storage, i)) > 0);
+        }
+    }
+
+    @Test
+    public void load_shardCountChanged_allPersonsLoadedAndStaleShardsDeleted() throws Exception {
+        AddressBook ab = getTestAddressBook();
+        ab.addPerson(getExtraPerson());
+        getShardedStorage(8).save(ab);
+
+        StorageFile storage = getShardedStorage(2);
+        AddressBook loaded = storage.load();
+        assertSamePersons(ab, loaded);
+        storage.save(loaded);
+        assertEquals(2, Paths.get(storage.getPath()).toFile().list().length);
+        assertSamePersons(ab, getShardedStorage(3).load());
+    }
+
+    @Test
+    public void load_unshardedFileWithoutShards_unshardedFileLoaded() throws Exception {
+        AddressBook ab = getTestAddressBook();
+        getTempStorage().save(ab);
+
+        StorageFile storage = getShardedStorage(4);
+        storage.save(storage.load());
+        assertFileDoesNotExist(getTempStorage().getPath());
+        assertSamePersons(ab, getShardedStorage(4).load());
+    }
+
+    @Test
+    public void load_unshardedFileWithJournal_journalAppliedAndUnshardedFilesDeleted() throws Exception {
+        StorageFile unshardedStorage = getTempStorage(true);
+        AddressBook ab = unshardedStorage.load();
+        unshardedStorage.save(ab);
+        ab.addPerson(getExtraPerson());
+        unshardedStorage.save(ab);
+        Path journalPath = Paths.get(unshardedStorage.getPath() + JournalFile.JOURNAL_FILE_SUFFIX);
+        assertTrue(Files.exists(journalPath));
+
+        StorageFile storage = getShardedStorage(4);
+        AddressBook loaded = storage.load();
+        assertSamePersons(ab, loaded);
+        storage.save(loaded);
+
+        assertFileDoesNotExist(unshardedStorage.getPath());
+        assertFileDoesNotExist(journalPath.toString());
+        assertSamePersons(ab, getShardedStorage(4).load());
+    }
+
+    @Test
+    public void load_shardsWithoutUnshardedFile_shardsLoadedAndDeleted() throws Exception {
+        AddressBook ab = getTestAddressBook();
+        ab.addPerson(getExtraPerson());
+        StorageFile shardedStorage = getShardedStorage(4);
+        shardedStorage.save(ab);
+
+        StorageFile storage = getTempStorage(true);
+        AddressBook loaded = storage.load();
+        assertSamePersons(ab, loaded);
+        storage.save(loaded);
+
+        assertFileDoesNotExist(shardedStorage.getPath());
+        assertSamePersons(ab, getTempStorage().load());
+    }
+
+    @Test
+    public void load_storedBothUnshardedAndInShards_exceptionThrown() throws Exception {
+        getShardedStorage(4).save(getTestAddressBook());
+        getTempStorage().save(getTestAddressBook());
+
+        thrown.expect(StorageOperationException.class);
+        getShardedStorage(4).load();
+    }
+
+    @Test
+    public void save_shardedStorageAfterEveryKindOfChange_shardsMatchAddressBook() throws Exception {
+        StorageFile storage = getShardedStorage(4);
+        AddressBook ab = storage.load();
+        ab.addAll(getTestAddressBook().getAllPersons().immutableListView().stream()
+                .map(Person::new).collect(Collectors.toList()));
+        storage.save(ab);
+
+        Person extra = getExtraPerson();
+        ab.addPerson(extra);
+        ab.setPersonTags(extra, Collections.singleton(new Tag("colleague")));
+        storage.save(ab);
+        assertSamePersons(ab, getShardedStorage(4).load());
+
+        ab.removePerson(ab.getAllPersons().immutableListView().get(0));
+        storage.save(ab);
+        assertSamePersons(ab, getShardedStorage(4).load());
+
+        ab.clear();
+        storage.save(ab);
+        assertEquals(0, getShardedStorage(4).load().size());
+    }
+
+    @Test
+    public void write_journalSavePreparedBeforeFailedWrite_refusedUntilDataRewritten() throws Exception {
+        Path directory = testFolder.getRoot().toPath().resolve("missing");
+        StorageFile storage = new StorageFile(directory.resolve("temp.txt").toString(), true);
+        AddressBook ab = storage.load();
+        ab.addPerson(getExtraPerson());
+        StorageFile.PendingSave failingSave = storage.prepareSave(ab);
+        ab.addPerson(new Person(getTestAddressBook().getAllPersons().immutableListView().get(0)));
+        StorageFile.PendingSave queuedSave = storage.prepareSave(ab);
+        try {
+            storage.write(failingSave);
+            fail("a save to a missing directory should fail");
+        } catch (StorageOperationException soe) {
+            // the next save is prepared as a full rewrite
+        }
+
+        Files.createDirectories(directory);
+        try {
+            storage.write(queuedSave);
+            fail("the journal entries after the failed save should not be written");
+        } catch (StorageOperationException soe) {
+            assertFileDoesNotExist(directory.resolve("temp.txt" + JournalFile.JOURNAL_FILE_SUFFIX).toString());
+        }
+
+        storage.write(storage.prepareSave(ab));
+        assertEquals(ab.getAllPersons(), new StorageFile(storage.getPath(), true).load().getAllPersons());
+    }
+
     // getPath() method in StorageFile class is trivial so it is not tested
 
+    private long getSyncCountAfterSaves(AddressBook ab, SyncPolicy syncPolicy, int numberOfSaves) throws Exception {
+        StorageFile storage = getTempStorage();
+        storage.setSyncPolicy(syncPolicy);
+        for (int i = 0; i < numberOfSaves; i++) {
+            storage.save(ab);
+        }
+        return storage.getSyncCount();
+    }
+
     /**
      * Asserts that the contents of two storage files are the same.
      */
@@ -100,12 +411,37 @@ public class StorageFileTest {
         assertTextFilesEqual(Paths.get(sf1.getPath()), Paths.get(sf2.getPath()));
     }
 
+    private void assertSamePersons(AddressBook expected, AddressBook actual) {
+        assertEquals(new HashSet<>(expected.getAllPersons().immutableListView()),
+                new HashSet<>(actual.getAllPersons().immutableListView()));
+    }
+
     private StorageFile getStorage(String fileName) throws Exception {
         return new StorageFile(TEST_DATA_FOLDER + "/" + fileName);
     }
 
     private StorageFile getTempStorage() throws Exception {
-        return new StorageFile(testFolder.getRoot().getPath() + "/" + "temp.txt");
+        return getTempStorage(false);
+    }
+
+    private StorageFile getTempStorage(boolean isJournalEnabled) throws Exception {
+        return new StorageFile(testFolder.getRoot().getPath() + "/" + "temp.txt", isJournalEnabled);
+    }
+
+    private StorageFile getShardedStorage(int shardCount) throws Exception {
+        return new StorageFile(testFolder.getRoot().getPath() + "/" + "temp.txt", true, shardCount);
+    }
+
+    private Path getShardPath(StorageFile shardedStorage, int shardIndex) {
+        return Paths.get(shardedStorage.getPath(), "shard-" + shardIndex + StorageFile.TEXT_FILE_EXTENSION);
+    }
+
+    private Person getExtraPerson() throws Exception {
+        return new Person(new Name("Charlie Dickson"),
+                          new Phone("333333", true),
+                          new Email("charlie.d@nus.edu.sg", false),
+                          new Address("333, gamma street", false),
+                          new HashSet<>(Arrays.asList(new Tag("friends"))));
     }
 
     private AddressBook getTestAddressBook() throws Exception {
@@ -0,0 +1,116 @@
+package seedu.addressbook.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import seedu.addressbook.data.exception.IllegalValueException;
+import seedu.addressbook.data.person.Address;
+import seedu.addressbook.data.person.Email;
+import seedu.addressbook.data.person.Name;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.person.Phone;
+import seedu.addressbook.data.tag.Tag;
+
+/**
+ * A small timing harness for the benchmarks under test/java, which are plain programs run with {@code java},
+ * not tests. Each task is run a few times so that the JIT compiles it, then timed over several more runs,
+ * and the median time is printed. The heap kept by the result of a task can be measured as well.
+ */
+public class Benchmark {
+
+    /** A benchmarked task. Its result is kept so that the JIT cannot discard the work that produced it. */
+    public interface Task {
+        Object run() throws Exception;
+    }
+
+    private static final int WARM_UP_RUNS = 5;
+    private static final int TIMED_RUNS = 11;
+
+    /** Number of distinct tags given to generated persons. */
+    private static final int TAG_COUNT = 20;
+
+    private static volatile Object sink;
+
+    private Benchmark() {}
+
+    /**
+     * Times {@code task}, prints the median time taken labelled with {@code label}, and returns it in milliseconds.
+     */
+    public static double time(String label, Task task) throws Exception {
+        for (int i = 0; i < WARM_UP_RUNS; i++) {
+            sink = task.run();
+        }
+        final double[] times = new double[TIMED_RUNS];
+        for (int i = 0; i < TIMED_RUNS; i++) {
+            final long start = System.nanoTime();
+            sink = task.run();
+            times[i] = (System.nanoTime() - start) / 1e6;
+        }
+        Arrays.sort(times);
+        final double median = times[TIMED_RUNS / 2];
+        System.out.println(String.format("%-60s %10.3f ms", label, median));
+        return median;
+    }
+
+    /**
+     * Prints the number of bytes of heap kept reachable by the result of {@code task}, labelled with {@code label},
+     * and returns it. The heap is measured after garbage collection, before and after running the task.
+     */
+    public static long measureRetainedMemory(String label, Task task) throws Exception {
+        final long before = getUsedMemoryAfterGc();
+        sink = task.run();
+        final long retained = getUsedMemoryAfterGc() - before;
+        sink = null;
+        System.out.println(String.format("%-60s %10.1f MB", label, retained / 1e6));
+        return retained;
+    }
+
+    private static long getUsedMemoryAfterGc() throws InterruptedException {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Returns {@code count} distinct persons, generated from {@code seed}. Each person has up to three tags
+     * out of a pool of {@value #TAG_COUNT}, and some of their details are private.
+     */
+    public static List<Person> generatePersons(int count, long seed) {
+        final Random random = new Random(seed);
+        final List<Person> persons = new ArrayList<>(count);
+        try {
+            for (int i = 0; i < count; i++) {
+                final Set<Tag> tags = new HashSet<>();
+                for (int j = random.nextInt(4); j > 0; j--) {
+                    tags.add(Tag.of("tag" + random.nextInt(TAG_COUNT)));
+                }
+                persons.add(new Person(
+                        new Name(generateName(random) + " " + generateName(random)),
+                        new Phone(Integer.toString(80000000 + i), random.nextInt(8) == 0),
+                        new Email("person" + i + "@example.com", random.nextInt(8) == 0),
+                        new Address("Block " + random.nextInt(1000) + " Example Street " + i,
+                                random.nextInt(8) == 0),
+                        tags));
+            }
+        } catch (IllegalValueException ive) {
+            throw new AssertionError("The generated details are valid.", ive);
+        }
+        return persons;
+    }
+
+    private static String generateName(Random random) {
+        final char[] name = new char[3 + random.nextInt(6)];
+        name[0] = (char) ('A' + random.nextInt(26));
+        for (int i = 1; i < name.length; i++) {
+            name[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(name);
+    }
+}